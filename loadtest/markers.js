@@ -0,0 +1,93 @@
+// ✅ /api/markers/* 부하 테스트 (k6)
+//
+// 실행: k6 run -e BASE_URL=http://localhost:9000 -e LABEL=after loadtest/markers.js
+//
+// 커넥션 풀 / prepared statement 설정 전후 비교:
+//   1) 기본 설정으로 서버 실행 후 측정 (LABEL=after)
+//   2) 예전 설정으로 서버 실행 후 측정 (LABEL=before)
+//      java -jar app.jar --spring.datasource.hikari.maximum-pool-size=10 \
+//           --spring.datasource.hikari.data-source-properties.prepareThreshold=0 \
+//           --mybatis.configuration.default-executor-type=SIMPLE
+//   두 결과의 http_req_duration{endpoint:...} p(99) 를 비교한다.
+//   결과는 loadtest/results/markers-<LABEL>.json 에 남는다 (코어 수, 풀 크기와 함께 PR 에 첨부).
+//   서버 쪽 값은 /actuator/prometheus 의 http_server_requests_seconds, mybatis_statement_seconds 로 확인.
+
+import http from 'k6/http';
+import { check } from 'k6';
+import { textSummary } from 'https://jslib.k6.io/k6-summary/0.0.2/index.js';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:9000';
+const LABEL = __ENV.LABEL || 'run';
+
+export const options = {
+    scenarios: {
+        // 평소 트래픽
+        steady: {
+            executor: 'constant-arrival-rate',
+            rate: 100,
+            timeUnit: '1s',
+            duration: '2m',
+            preAllocatedVUs: 50,
+            maxVUs: 200,
+        },
+        // 순간 몰림 (steady 가 끝난 뒤)
+        burst: {
+            executor: 'ramping-arrival-rate',
+            startTime: '2m',
+            startRate: 100,
+            timeUnit: '1s',
+            stages: [
+                { target: 800, duration: '20s' },
+                { target: 800, duration: '40s' },
+                { target: 100, duration: '20s' },
+            ],
+            preAllocatedVUs: 200,
+            maxVUs: 1000,
+        },
+    },
+    thresholds: {
+        'http_req_failed': ['rate<0.01'],
+        'http_req_duration{endpoint:list}': ['p(99)<500'],
+        'http_req_duration{endpoint:bounds}': ['p(99)<200'],
+        'http_req_duration{endpoint:clusters}': ['p(99)<200'],
+        'http_req_duration{endpoint:detail}': ['p(99)<200'],
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+// 한반도 안의 임의 지도 화면 (서울 시내 정도 크기)
+function randomViewport() {
+    const lat = 33 + Math.random() * 5.5;
+    const lon = 126 + Math.random() * 3.5;
+    return `minLat=${lat - 0.05}&maxLat=${lat + 0.05}&minLon=${lon - 0.07}&maxLon=${lon + 0.07}`;
+}
+
+export function setup() {
+    const res = http.get(`${BASE_URL}/api/markers/approve`);
+    const ids = res.status === 200 ? res.json().map((m) => m.id) : [];
+    return { ids: ids.length > 0 ? ids : [1] };
+}
+
+export default function (data) {
+    const roll = Math.random();
+    let res;
+    if (roll < 0.1) {
+        res = http.get(`${BASE_URL}/api/markers/approve`, { tags: { endpoint: 'list' } });
+    } else if (roll < 0.5) {
+        res = http.get(`${BASE_URL}/api/markers/bounds?zoom=14&${randomViewport()}`, { tags: { endpoint: 'bounds' } });
+    } else if (roll < 0.7) {
+        res = http.get(`${BASE_URL}/api/markers/clusters?zoom=8&${randomViewport()}`, { tags: { endpoint: 'clusters' } });
+    } else {
+        const id = data.ids[Math.floor(Math.random() * data.ids.length)];
+        res = http.get(`${BASE_URL}/api/markers/${id}`, { tags: { endpoint: 'detail' } });
+    }
+    check(res, { 'status is 2xx/304': (r) => (r.status >= 200 && r.status < 300) || r.status === 304 });
+}
+
+// ✅ 전후 비교용으로 요약을 파일로 남긴다
+export function handleSummary(data) {
+    return {
+        stdout: textSummary(data, { indent: ' ', enableColors: true }),
+        [`loadtest/results/markers-${LABEL}.json`]: JSON.stringify(data, null, 2),
+    };
+}
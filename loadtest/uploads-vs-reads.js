@@ -0,0 +1,67 @@
+// ✅ 업로드가 몰리는 동안 지도 조회 지연이 유지되는지 확인 (k6)
+//
+// 실행: k6 run -e BASE_URL=http://localhost:9000 -e IMAGE=./court.jpg loadtest/uploads-vs-reads.js
+//
+// 비교 방법 (Tomcat 스레드 수를 줄이면 차이가 잘 보인다):
+//   1) java -jar app.jar --server.tomcat.threads.max=32 --web.execution-mode=sync
+//   2) java -jar app.jar --server.tomcat.threads.max=32 --web.execution-mode=async
+//   두 결과의 http_req_duration{endpoint:bounds} p(99) 를 비교한다.
+//   sync 에서는 느린 업로드가 Tomcat 스레드를 모두 잡아 조회도 함께 느려지고,
+//   async 에서는 업로드가 upload 풀 안에서만 밀리고(넘치면 503) 조회 지연은 그대로여야 한다.
+//   (업로드는 /request/stream 으로 보낸다. /request 는 multipart 파싱이 Tomcat 스레드에서 끝나므로 async 의 효과가 없다)
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:9000';
+const IMAGE = open(__ENV.IMAGE || './court.jpg', 'b');
+
+export const options = {
+    scenarios: {
+        // 조회: 처음부터 끝까지 일정한 부하
+        reads: {
+            executor: 'constant-arrival-rate',
+            exec: 'read',
+            rate: 200,
+            timeUnit: '1s',
+            duration: '3m',
+            preAllocatedVUs: 50,
+            maxVUs: 300,
+        },
+        // 업로드: 1분 뒤부터 1분 동안 몰림
+        uploads: {
+            executor: 'constant-vus',
+            exec: 'upload',
+            startTime: '1m',
+            duration: '1m',
+            vus: 100,
+        },
+    },
+    thresholds: {
+        'http_req_duration{endpoint:bounds}': ['p(99)<200'],
+        'http_req_failed{endpoint:bounds}': ['rate<0.01'],
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function read() {
+    const lat = 33 + Math.random() * 5.5;
+    const lon = 126 + Math.random() * 3.5;
+    const res = http.get(
+        `${BASE_URL}/api/markers/bounds?zoom=14&minLat=${lat - 0.05}&maxLat=${lat + 0.05}&minLon=${lon - 0.07}&maxLon=${lon + 0.07}`,
+        { tags: { endpoint: 'bounds' } });
+    check(res, { 'bounds 200': (r) => r.status === 200 });
+}
+
+export function upload() {
+    // 매번 다른 위치 → 500m 중복 검사에 걸리지 않도록
+    const body = {
+        title: `load-${__VU}-${__ITER}`,
+        latitude: String(33 + Math.random() * 5.5),
+        longitude: String(126 + Math.random() * 3.5),
+        images: http.file(IMAGE, 'court.jpg', 'image/jpeg'),
+    };
+    const res = http.post(`${BASE_URL}/api/markers/request/stream`, body, { tags: { endpoint: 'upload' } });
+    // 업로드 풀이 가득 차면 503 은 정상 동작
+    check(res, { 'upload 200/503': (r) => r.status === 200 || r.status === 503 });
+}
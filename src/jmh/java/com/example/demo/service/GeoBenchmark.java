@@ -0,0 +1,87 @@
+package com.example.demo.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.example.demo.domain.MarkerPoint;
+
+/**
+ * 마커 등록 시 500m 중복 검사 경로: Haversine 거리, 검색 영역 계산, 공간 인덱스 조회.
+ * 좌표는 국내 범위(위도 33~38.5, 경도 126~129.5)에서 무작위로 만든다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GeoBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({ "1000", "10000", "100000" })
+    public int markerCount;
+
+    private double[] lats;
+    private double[] lons;
+    private MarkerSpatialIndex index;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        lats = new double[QUERIES];
+        lons = new double[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            lats[i] = 33 + random.nextDouble() * 5.5;
+            lons[i] = 126 + random.nextDouble() * 3.5;
+        }
+
+        List<MarkerPoint> entries = new ArrayList<>(markerCount);
+        for (int i = 0; i < markerCount; i++) {
+            entries.add(new MarkerPoint(i + 1, 33 + random.nextDouble() * 5.5,
+                    126 + random.nextDouble() * 3.5, "court " + i));
+        }
+        index = new MarkerSpatialIndex();
+        index.load(entries);
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (QUERIES - 1);
+        return cursor;
+    }
+
+    @Benchmark
+    public double calculateDistance() {
+        int i = next();
+        int j = (i + 1) & (QUERIES - 1);
+        return GeoUtils.calculateDistance(lats[i], lons[i], lats[j], lons[j]);
+    }
+
+    @Benchmark
+    public double[] boundingBox() {
+        int i = next();
+        return GeoUtils.boundingBox(lats[i], lons[i], 500);
+    }
+
+    @Benchmark
+    public boolean spatialIndexExistsWithin() {
+        int i = next();
+        return index.existsWithin(lats[i], lons[i], 500);
+    }
+
+    // 서울 시내 정도의 지도 화면 한 장
+    @Benchmark
+    public List<MarkerPoint> spatialIndexFindInBounds() {
+        int i = next();
+        return index.findInBounds(lats[i] - 0.05, lats[i] + 0.05, lons[i] - 0.07, lons[i] + 0.07, null, 500);
+    }
+}
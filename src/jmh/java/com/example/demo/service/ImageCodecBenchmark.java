@@ -0,0 +1,78 @@
+package com.example.demo.service;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 업로드 이미지 처리: 800px 리사이즈와 품질 0.75 JPEG 인코딩.
+ * 원본 크기는 일반적인 휴대폰 사진 해상도를 사용한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ImageCodecBenchmark {
+
+    @Param({ "1280x960", "3024x4032", "4032x3024" })
+    public String sourceSize;
+
+    private BufferedImage source;
+    private BufferedImage full;
+
+    @Setup
+    public void setUp() {
+        String[] size = sourceSize.split("x");
+        int width = Integer.parseInt(size[0]);
+        int height = Integer.parseInt(size[1]);
+
+        // 단색 이미지는 JPEG 가 지나치게 잘 압축되므로 그라데이션 + 잡음으로 채운다
+        source = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+        Graphics2D g = source.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, Color.ORANGE, width, height, Color.BLUE));
+        g.fillRect(0, 0, width, height);
+        g.dispose();
+        Random random = new Random(42);
+        for (int i = 0; i < width * height / 20; i++) {
+            source.setRGB(random.nextInt(width), random.nextInt(height), random.nextInt());
+        }
+
+        full = ImageCodec.scaleDown(source, 800);
+    }
+
+    @Benchmark
+    public BufferedImage resizeToFull() {
+        return ImageCodec.resize(source, 800);
+    }
+
+    @Benchmark
+    public BufferedImage resizeFullCardThumb() {
+        BufferedImage resized = ImageCodec.scaleDown(source, 800);
+        resized = ImageCodec.scaleDown(resized, 400);
+        return ImageCodec.scaleDown(resized, 120);
+    }
+
+    @Benchmark
+    public byte[] encodeFullJpeg() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 * 1024);
+        try (MemoryCacheImageOutputStream output = new MemoryCacheImageOutputStream(bytes)) {
+            ImageCodec.writeJpeg(full, output, 0.75f);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.demo.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.example.demo.domain.MarkerImages;
+
+/**
+ * getMarkers 의 이미지 컬럼 처리: 콤마 분리, /uploads/ URL 생성, 크기별 URL 생성.
+ * 마커 한 개당 이미지 0~3장, 예전 방식 파일명과 해시 파일명을 섞어 사용한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MarkerImagesBenchmark {
+
+    private static final String HASH = "3f2a9c0b7d1e4f5a6b7c8d9e0f1a2b3c4d5e6f708192a3b4c5d6e7f8091a2b3c";
+
+    @Param({ "100", "1000", "10000" })
+    public int markerCount;
+
+    private List<String> columns;
+
+    @Setup
+    public void setUp() {
+        columns = new ArrayList<>(markerCount);
+        for (int i = 0; i < markerCount; i++) {
+            StringBuilder column = new StringBuilder();
+            for (int j = 0; j < i % 4; j++) {
+                if (column.length() > 0) {
+                    column.append(",");
+                }
+                if (j % 2 == 0) {
+                    column.append("/uploads/").append(HASH).append("_full.jpg");
+                } else {
+                    column.append("/uploads/").append(1746456110590L + i).append("_court.jpg");
+                }
+            }
+            columns.add(column.length() > 0 ? column.toString() : null);
+        }
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        for (String column : columns) {
+            blackhole.consume(MarkerImages.parse(column));
+        }
+    }
+
+    @Benchmark
+    public void parseWithSizes(Blackhole blackhole) {
+        for (String column : columns) {
+            List<String> urls = MarkerImages.parse(column);
+            List<Map<String, String>> sizes = MarkerImages.sizes(urls);
+            blackhole.consume(urls);
+            blackhole.consume(sizes);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.demo.service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.example.demo.domain.Marker;
+import com.example.demo.domain.MarkerImages;
+import com.example.demo.domain.MarkerPoint;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * getMarkers 응답 한 번의 행 생성 + 직렬화 비용: HashMap 행 vs Marker 객체 vs 압축 바이너리.
+ * 행 생성은 MyBatis 가 ResultSet 한 행을 결과 객체로 옮기는 부분에 해당한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MarkerSerializationBenchmark {
+
+    private static final String HASH = "3f2a9c0b7d1e4f5a6b7c8d9e0f1a2b3c4d5e6f708192a3b4c5d6e7f8091a2b3c";
+
+    @Param({ "100", "1000", "10000" })
+    public int markerCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private int[] ids;
+    private double[] latitudes;
+    private double[] longitudes;
+    private String[] titles;
+    private String[] imageColumns;
+    private Timestamp createdAt;
+    private List<MarkerPoint> points;
+
+    @Setup
+    public void setUp() {
+        ids = new int[markerCount];
+        latitudes = new double[markerCount];
+        longitudes = new double[markerCount];
+        titles = new String[markerCount];
+        imageColumns = new String[markerCount];
+        createdAt = new Timestamp(1746456110590L);
+        for (int i = 0; i < markerCount; i++) {
+            ids[i] = i + 1;
+            latitudes[i] = 33 + (i % 5500) * 0.001;
+            longitudes[i] = 126 + (i % 3500) * 0.001;
+            titles[i] = "court " + i;
+            imageColumns[i] = i % 2 == 0 ? "/uploads/" + HASH + "_full.jpg" : null;
+        }
+        points = new ArrayList<>(markerCount);
+        for (int i = 0; i < markerCount; i++) {
+            points.add(new MarkerPoint(ids[i], latitudes[i], longitudes[i], titles[i]));
+        }
+    }
+
+    // 예전 방식: 행마다 HashMap, 좌표는 박싱, images 는 컨트롤러에서 다시 분리
+    @Benchmark
+    public byte[] mapRows() throws JsonProcessingException {
+        List<Map<String, Object>> rows = new ArrayList<>(markerCount);
+        for (int i = 0; i < markerCount; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", ids[i]);
+            row.put("latitude", latitudes[i]);
+            row.put("longitude", longitudes[i]);
+            row.put("title", titles[i]);
+            row.put("images", imageColumns[i]);
+            row.put("created_at", createdAt);
+            row.put("approved", true);
+            Object images = row.get("images");
+            if (images instanceof String) {
+                List<String> urls = Arrays.asList(((String) images).split(","));
+                row.put("images", urls);
+                row.put("image_sizes", MarkerImages.sizes(MarkerImages.parse(images)));
+            }
+            rows.add(row);
+        }
+        return objectMapper.writeValueAsBytes(rows);
+    }
+
+    @Benchmark
+    public byte[] typedRows() throws JsonProcessingException {
+        List<Marker> markers = new ArrayList<>(markerCount);
+        for (int i = 0; i < markerCount; i++) {
+            markers.add(new Marker(ids[i], latitudes[i], longitudes[i], titles[i],
+                    MarkerImages.parse(imageColumns[i]), createdAt));
+        }
+        return objectMapper.writeValueAsBytes(markers);
+    }
+
+    // Accept: application/x-marker-points 응답 (id/좌표/이름만)
+    @Benchmark
+    public byte[] binaryPoints() {
+        return MarkerPointEncoder.encode(points);
+    }
+}
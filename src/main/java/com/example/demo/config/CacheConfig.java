@@ -0,0 +1,46 @@
+package com.example.demo.config;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.demo.domain.Comment;
+import com.example.demo.domain.Marker;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Configuration
+public class CacheConfig {
+
+    // ✅ 마커 상세 캐시 (key: markers.id)
+    @Bean
+    public Cache<Integer, Marker> markerDetailCache(@Value("${cache.marker-detail.max-size:10000}") long maxSize,
+                                                                 @Value("${cache.marker-detail.ttl-seconds:600}") long ttlSeconds,
+                                                                 MeterRegistry meterRegistry) {
+        Cache<Integer, Marker> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "markerDetail");
+    }
+
+    // ✅ 댓글 페이지 캐시 (key: "markerId:세대:page:size", 세대는 CommentService 가 관리)
+    @Bean
+    public Cache<String, List<Comment>> commentPageCache(@Value("${cache.comments.max-size:20000}") long maxSize,
+                                                                     @Value("${cache.comments.ttl-seconds:120}") long ttlSeconds,
+                                                                     MeterRegistry meterRegistry) {
+        Cache<String, List<Comment>> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "commentPages");
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.demo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+@Configuration
+public class DataSourceConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceConfig.class);
+
+    // ✅ 커넥션 풀 크기: maximum-pool-size 를 지정하지 않으면 (코어 수 × 2) + 1 로 고정
+    // 풀이 작을수록 DB 쪽 경합이 줄어 꼬리 지연(p99)이 안정된다
+    // 프로퍼티 이름이 아니라 바인딩이 끝난 값으로 판단한다 (환경 변수·relaxed 이름으로 지정해도 그대로 존중)
+    // Hikari 는 validate() 전까지 미지정 값을 -1 로 둔다
+    @Bean
+    public static BeanPostProcessor hikariPoolSizing() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource && ((HikariDataSource) bean).getMaximumPoolSize() < 1) {
+                    int poolSize = Runtime.getRuntime().availableProcessors() * 2 + 1;
+                    HikariDataSource dataSource = (HikariDataSource) bean;
+                    dataSource.setMaximumPoolSize(poolSize);
+                    if (dataSource.getMinimumIdle() < 0) {
+                        dataSource.setMinimumIdle(poolSize);
+                    }
+                    log.info("📦 커넥션 풀 크기: {} = {}", beanName, poolSize);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.demo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.demo.mapper.StatementMetricsInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class MyBatisConfig {
+
+    // ✅ 매퍼 문장별 실행 시간 측정 + 느린 쿼리 로그 (Interceptor 빈은 MyBatis 자동 설정이 등록)
+    @Bean
+    public StatementMetricsInterceptor statementMetricsInterceptor(MeterRegistry meterRegistry,
+                                                                   @Value("${mybatis.slow-query-threshold-ms:200}") long slowQueryThresholdMs) {
+        return new StatementMetricsInterceptor(meterRegistry, slowQueryThresholdMs);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * replica 의 복제 지연을 주기적으로 측정해 ReplicaRoutingDataSource 에 반영한다.
+ *
+ * 지연이 허용치를 넘거나 replica 에 접속할 수 없으면 모든 조회를 primary 로 보낸다.
+ * 측정값은 datasource.replica.lag 게이지(ms, 측정 실패 시 -1)로 확인할 수 있다.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // 받은 WAL 을 모두 재생했으면 0 (쓰기가 없을 때 마지막 재생 시각 기준으로 지연이 커지는 것을 방지)
+    private static final String LAG_QUERY =
+            "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+                    + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private final DataSource replica;
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final long maxLagMs;
+    private final ScheduledExecutorService scheduler;
+    private volatile long lagMs = -1;
+
+    public ReplicaLagMonitor(DataSource replica, ReplicaRoutingDataSource routingDataSource,
+                             long maxLagMs, long checkIntervalMs, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.routingDataSource = routingDataSource;
+        this.maxLagMs = maxLagMs;
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagMs)
+                .description("replica 복제 지연 (ms)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 첫 측정이 끝나기 전까지는 primary 만 사용
+        scheduler.scheduleWithFixedDelay(this::check, 0, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void check() {
+        boolean wasAvailable = routingDataSource.isReplicaAvailable();
+        boolean available;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+            rs.next();
+            lagMs = rs.getLong(1);
+            available = lagMs <= maxLagMs;
+        } catch (SQLException | RuntimeException e) {
+            lagMs = -1;
+            available = false;
+            if (wasAvailable) {
+                log.warn("🚨 replica 지연 측정 실패", e);
+            }
+        }
+
+        routingDataSource.setReplicaAvailable(available);
+        if (available != wasAvailable) {
+            log.info("📡 replica 조회 {} (지연 {}ms, 허용 {}ms)", available ? "사용" : "중단", lagMs, maxLagMs);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
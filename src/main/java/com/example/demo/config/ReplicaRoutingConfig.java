@@ -0,0 +1,70 @@
+package com.example.demo.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.example.demo.mapper.ReadRoutingInterceptor;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * ✅ 읽기 전용 replica 분리 (replica.enabled=true 일 때만)
+ *
+ * primary 는 기존 spring.datasource.* 설정 그대로, replica 는 spring.datasource.replica.* (Hikari 속성) 로 만든다.
+ * 애플리케이션이 쓰는 DataSource 는 둘을 고르는 ReplicaRoutingDataSource 이고,
+ * 트랜잭션의 readOnly 여부가 정해진 뒤 커넥션을 고르도록 LazyConnectionDataSourceProxy 로 감싼다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        return DataSourceBuilder.create().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             HikariDataSource replicaDataSource,
+                                                             @Value("${replica.max-lag-ms:1000}") long maxLagMs) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, maxLagMs);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(HikariDataSource replicaDataSource,
+                                               ReplicaRoutingDataSource replicaRoutingDataSource,
+                                               MeterRegistry meterRegistry,
+                                               @Value("${replica.max-lag-ms:1000}") long maxLagMs,
+                                               @Value("${replica.lag-check-interval-ms:1000}") long checkIntervalMs) {
+        return new ReplicaLagMonitor(replicaDataSource, replicaRoutingDataSource, maxLagMs, checkIntervalMs, meterRegistry);
+    }
+
+    // SELECT 문장만 replica 로 (Interceptor 빈은 MyBatis 자동 설정이 등록)
+    @Bean
+    public ReadRoutingInterceptor readRoutingInterceptor() {
+        return new ReadRoutingInterceptor();
+    }
+}
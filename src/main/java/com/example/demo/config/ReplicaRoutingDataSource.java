@@ -0,0 +1,107 @@
+package com.example.demo.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 읽기 전용 요청은 replica, 나머지는 primary 로 보내는 DataSource.
+ *
+ * - 트랜잭션 안: 읽기 전용 트랜잭션만 replica
+ * - 트랜잭션 밖: ReadRoutingInterceptor 가 표시한 SELECT 문장만 replica
+ * - replica 지연이 허용치를 넘었으면 primary
+ * - 같은 스레드(요청)에서 방금 쓰기가 있었으면 허용치 시간 동안 primary (쓴 사람만 자기 쓰기를 바로 읽으면 된다)
+ * - usePrimary 로 감싼 조회는 항상 primary (버전에 묶어 두는 스냅샷처럼 최신 값이 꼭 필요한 경우)
+ *
+ * 실제 커넥션은 첫 문장을 실행할 때 가져와야 하므로 LazyConnectionDataSourceProxy 로 감싸서 사용한다.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private static final ThreadLocal<Boolean> READ_STATEMENT = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+    private static final ThreadLocal<Long> LAST_WRITE_AT = new ThreadLocal<>();
+
+    private final long maxLagNanos;
+    private volatile boolean replicaAvailable;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, long maxLagMs) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        targets.put(REPLICA, replica);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        this.maxLagNanos = TimeUnit.MILLISECONDS.toNanos(maxLagMs);
+    }
+
+    public static void markReadStatement() {
+        READ_STATEMENT.set(Boolean.TRUE);
+    }
+
+    public static void clearReadStatement() {
+        READ_STATEMENT.remove();
+    }
+
+    // 쓰기 직후 허용 지연 시간 동안은 이 스레드의 읽기도 primary 로 (방금 쓴 내용을 다시 읽을 수 있도록)
+    public static void markWrite() {
+        LAST_WRITE_AT.set(System.nanoTime());
+    }
+
+    // 요청이 끝나면 WebConfig 의 인터셉터가 정리 (요청 풀 스레드는 허용 지연 시간이 지나면 저절로 풀린다)
+    public static void clearWrite() {
+        LAST_WRITE_AT.remove();
+    }
+
+    // ✅ 감싼 조회는 replica 상태와 관계없이 primary 로
+    public static <T> T usePrimary(Supplier<T> query) {
+        if (FORCE_PRIMARY.get() != null) {
+            return query.get();
+        }
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return query.get();
+        } finally {
+            FORCE_PRIMARY.remove();
+        }
+    }
+
+    // ReplicaLagMonitor 가 주기적으로 갱신
+    public void setReplicaAvailable(boolean replicaAvailable) {
+        this.replicaAvailable = replicaAvailable;
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean read = TransactionSynchronizationManager.isActualTransactionActive()
+                ? TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                : READ_STATEMENT.get() != null;
+        if (read && replicaAvailable && FORCE_PRIMARY.get() == null && !wroteRecently()) {
+            return REPLICA;
+        }
+        return PRIMARY;
+    }
+
+    private boolean wroteRecently() {
+        Long wroteAt = LAST_WRITE_AT.get();
+        if (wroteAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - wroteAt > maxLagNanos) {
+            LAST_WRITE_AT.remove();
+            return false;
+        }
+        return true;
+    }
+}
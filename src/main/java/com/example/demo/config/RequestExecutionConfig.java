@@ -0,0 +1,40 @@
+package com.example.demo.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class RequestExecutionConfig {
+
+    // ✅ web.execution-mode=async 일 때 조회 API(지도/마커 상세/댓글)를 처리하는 스레드 풀
+    // 가득 차면 거절(503) → Tomcat 스레드가 대신 처리하면 풀을 나눈 의미가 없어진다
+    @Bean(name = "readRequestExecutor")
+    public ThreadPoolTaskExecutor readRequestExecutor(@Value("${web.async.read.pool-size:32}") int poolSize,
+                                                      @Value("${web.async.read.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("read-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    // ✅ web.execution-mode=async 일 때 마커 등록(업로드) 요청을 처리하는 스레드 풀
+    // 가득 차면 거절(503) → 느린 업로드가 몰려도 Tomcat 스레드와 조회 풀은 비어 있다
+    @Bean(name = "uploadRequestExecutor")
+    public ThreadPoolTaskExecutor uploadRequestExecutor(@Value("${web.async.upload.pool-size:8}") int poolSize,
+                                                        @Value("${web.async.upload.queue-capacity:16}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("upload-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.demo.controller;
 
 import com.example.demo.service.CommentService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -8,14 +10,26 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/comments")
 public class CommentController {
     private final CommentService commentService;
+    private final RequestExecution requestExecution;
 
-    public CommentController(CommentService commentService) {
+    public CommentController(CommentService commentService, RequestExecution requestExecution) {
         this.commentService = commentService;
+        this.requestExecution = requestExecution;
+    }
+
+    // ✅ async 모드에서 조회 스레드 풀이 가득 찬 경우
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<?> handleRejected(RejectedExecutionException e) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", "요청이 많아 처리할 수 없습니다");
+        error.put("message", "잠시 후 다시 시도해 주세요.");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").body(error);
     }
 
     @PostMapping
@@ -30,9 +44,25 @@ public class CommentController {
     }
 
     @GetMapping("/{markerId}")
-    public ResponseEntity<?> getComments(@PathVariable("markerId") int markerId,
-                                         @RequestParam(name = "page", defaultValue = "1") int page,
-                                         @RequestParam(name = "size", defaultValue = "5") int size) {
-        return ResponseEntity.ok(commentService.getComments(markerId, page, size));
+    public Object getComments(@PathVariable("markerId") int markerId,
+                              @RequestParam(name = "page", defaultValue = "1") int page,
+                              @RequestParam(name = "size", defaultValue = "5") int size) throws Exception {
+        return requestExecution.read(() -> ResponseEntity.ok(commentService.getComments(markerId, page, size)));
+    }
+
+    @GetMapping("/{markerId}/cursor")
+    public Object getCommentsByCursor(@PathVariable("markerId") int markerId,
+                                      @RequestParam(name = "cursor", required = false) String cursor,
+                                      @RequestParam(name = "size", defaultValue = "5") int size) throws Exception {
+        return requestExecution.read(() -> {
+            try {
+                return ResponseEntity.ok(commentService.getCommentsByCursor(markerId, cursor, size));
+            } catch (IllegalArgumentException e) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("error", "댓글 조회 불가");
+                error.put("message", e.getMessage());
+                return ResponseEntity.badRequest().body(error);
+            }
+        });
     }
 }
@@ -1,64 +1,179 @@
 package com.example.demo.controller;
 
+import com.example.demo.domain.Marker;
+import com.example.demo.domain.PendingMarker;
+import com.example.demo.service.MarkerExportService;
+import com.example.demo.service.MarkerPointEncoder;
 import com.example.demo.service.MarkerService;
+import com.example.demo.service.MarkerUploadService;
+import org.apache.commons.fileupload.FileUploadBase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
-import java.util.Arrays;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/markers")
 public class MarkerController {
+    private static final Logger log = LoggerFactory.getLogger(MarkerController.class);
+
     private final MarkerService markerService;
+    private final MarkerExportService markerExportService;
+    private final MarkerUploadService markerUploadService;
+    private final RequestExecution requestExecution;
+    private final long exportTimeoutMs;
 
-    public MarkerController(MarkerService markerService) {
+    public MarkerController(MarkerService markerService, MarkerExportService markerExportService,
+                            MarkerUploadService markerUploadService, RequestExecution requestExecution,
+                            @Value("${export.timeout-ms:1800000}") long exportTimeoutMs) {
         this.markerService = markerService;
+        this.markerExportService = markerExportService;
+        this.markerUploadService = markerUploadService;
+        this.requestExecution = requestExecution;
+        this.exportTimeoutMs = exportTimeoutMs;
+    }
+
+    // ✅ async 모드에서 조회/업로드 스레드 풀이 가득 찬 경우
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<?> handleRejected(RejectedExecutionException e) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", "요청이 많아 처리할 수 없습니다");
+        error.put("message", "잠시 후 다시 시도해 주세요.");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").body(error);
     }
 
+    // multipart 파라미터(MultipartFile)는 핸들러 호출 전에 Tomcat 스레드에서 모두 읽히므로
+    // async 모드라도 느린 업로드가 Tomcat 스레드를 잡는다 → 업로드가 몰리면 /request/stream 사용
     @PostMapping(value = "/request", consumes = { "multipart/form-data" })
-    public ResponseEntity<?> requestMarker(@RequestParam("title") String title,
-                                           @RequestParam("latitude") double latitude,
-                                           @RequestParam("longitude") double longitude,
-                                           @RequestParam(value = "images", required = false) List<MultipartFile> images) {
-        try {
-            markerService.requestMarker(title, latitude, longitude, images);
+    public Object requestMarker(@RequestParam("title") String title,
+                                @RequestParam("latitude") double latitude,
+                                @RequestParam("longitude") double longitude,
+                                @RequestParam(value = "images", required = false) List<MultipartFile> images) throws Exception {
+        return requestExecution.upload(() -> {
+            try {
+                markerService.requestMarker(title, latitude, longitude, images);
+
+                Map<String, Object> response = new HashMap<>();
+                response.put("message", "마커 등록 요청 완료. 관리자의 승인을 기다려 주세요.");
+                return ResponseEntity.ok(response);
+            } catch (IllegalArgumentException e) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("error", "마커 등록 불가");
+                error.put("message", e.getMessage());
+                return ResponseEntity.status(400).body(error);
+            } catch (Exception e) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("error", "마커 등록 요청 실패");
+                error.put("message", e.getMessage());
+                return ResponseEntity.status(500).body(error);
+            }
+        });
+    }
+
+    // ✅ 스트리밍 업로드: 본문을 버퍼링하지 않고 파트 단위로 처리 (텍스트 항목을 이미지보다 먼저 보내야 함)
+    // 이미지가 아니거나 해상도/용량이 너무 크면 나머지 본문을 읽기 전에 거절
+    @PostMapping(value = "/request/stream", consumes = { "multipart/form-data" })
+    public Object requestMarkerStream(HttpServletRequest request) throws Exception {
+        return requestExecution.upload(() -> {
+            try {
+                markerUploadService.upload(request);
+
+                Map<String, Object> response = new HashMap<>();
+                response.put("message", "마커 등록 요청 완료. 관리자의 승인을 기다려 주세요.");
+                return ResponseEntity.ok(response);
+            } catch (IllegalArgumentException e) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("error", "마커 등록 불가");
+                error.put("message", e.getMessage());
+                return ResponseEntity.status(400).body(error);
+            } catch (Exception e) {
+                boolean tooLarge = e instanceof FileUploadBase.SizeException || e.getCause() instanceof FileUploadBase.SizeException;
+                Map<String, Object> error = new HashMap<>();
+                error.put("error", tooLarge ? "업로드 용량 초과" : "마커 등록 요청 실패");
+                error.put("message", e.getMessage());
+                return ResponseEntity.status(tooLarge ? HttpStatus.PAYLOAD_TOO_LARGE : HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+            }
+        });
+    }
+
+    @GetMapping("/requests")
+    public ResponseEntity<List<PendingMarker>> getPendingMarkers() {
+        return ResponseEntity.ok(markerService.getPendingMarkers());
+    }
 
+    @PostMapping("/approve/{id}")
+    public ResponseEntity<?> approveMarker(@PathVariable("id") Integer id) {
+        try {
+            markerService.approveMarker(id);
             Map<String, Object> response = new HashMap<>();
-            response.put("message", "마커 등록 요청 완료. 관리자의 승인을 기다려 주세요.");
+            response.put("message", "마커 승인 완료.");
             return ResponseEntity.ok(response);
-        } catch (IllegalArgumentException e) {
+        } catch (IllegalStateException e) {
             Map<String, Object> error = new HashMap<>();
-            error.put("error", "마커 등록 불가");
+            error.put("error", "마커 승인 불가");
             error.put("message", e.getMessage());
-            return ResponseEntity.status(400).body(error);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
-            error.put("error", "마커 등록 요청 실패");
+            error.put("error", "마커 승인 중 오류 발생");
             error.put("message", e.getMessage());
             return ResponseEntity.status(500).body(error);
         }
     }
 
-    @GetMapping("/requests")
-    public ResponseEntity<List<Map<String, Object>>> getPendingMarkers() {
-        return ResponseEntity.ok(markerService.getPendingMarkers());
+    // ✅ 일괄 승인: 요청 본문은 등록 요청 id 배열 ([1, 2, 3])
+    @PostMapping("/approve/bulk")
+    public ResponseEntity<?> approveMarkers(@RequestBody List<Integer> ids) {
+        try {
+            List<Map<String, Object>> results = markerService.approveMarkers(ids);
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "마커 일괄 승인 완료.");
+            response.put("results", results);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "마커 일괄 승인 불가");
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "마커 일괄 승인 중 오류 발생");
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(500).body(error);
+        }
     }
 
-    @PostMapping("/approve/{id}")
-    public ResponseEntity<?> approveMarker(@PathVariable("id") Integer id) {
+    // ✅ 일괄 거절: 요청 본문은 등록 요청 id 배열
+    @PostMapping("/reject/bulk")
+    public ResponseEntity<?> rejectMarkers(@RequestBody List<Integer> ids) {
         try {
-            markerService.approveMarker(id);
+            List<Map<String, Object>> results = markerService.rejectMarkers(ids);
             Map<String, Object> response = new HashMap<>();
-            response.put("message", "마커 승인 완료.");
+            response.put("message", "승인 요청 마커 일괄 삭제 완료.");
+            response.put("results", results);
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "승인 요청 마커 일괄 삭제 불가");
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
-            error.put("error", "마커 승인 중 오류 발생");
+            error.put("error", "승인 요청 마커 일괄 삭제 중 오류 발생");
             error.put("message", e.getMessage());
             return ResponseEntity.status(500).body(error);
         }
@@ -94,40 +209,162 @@ public class MarkerController {
         }
     }
 
+    // ✅ Accept: application/x-marker-points 이면 id/좌표/이름만 압축 바이너리로, 그 외에는 기존 JSON
+    // 목록 버전으로 ETag 를 만들어 If-None-Match 가 같으면 조회 없이 304, since 가 있으면 그 이후 변경분만
     @GetMapping("/approve")
-    public ResponseEntity<List<Map<String, Object>>> getMarkers() {
-        return ResponseEntity.ok(markerService.getMarkers());
+    public Object getMarkers(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                             @RequestParam(name = "since", required = false) Long since) throws Exception {
+        return requestExecution.read(() -> {
+            if (since != null) {
+                Map<String, Object> changes = markerService.getMarkerChanges(since);
+                if (changes == null) {
+                    Map<String, Object> error = new HashMap<>();
+                    error.put("error", "변경 이력 없음");
+                    error.put("message", "전체 목록을 다시 조회해 주세요.");
+                    error.put("version", markerService.getMarkersVersion());
+                    return ResponseEntity.status(HttpStatus.GONE).body(error);
+                }
+                return ResponseEntity.ok()
+                        .cacheControl(CacheControl.noCache())
+                        .body(changes);
+            }
+
+            boolean binary = accept != null && accept.contains(MarkerPointEncoder.MEDIA_TYPE);
+            long version = markerService.getMarkersVersion();
+            // 표현(JSON/바이너리)마다 다른 ETag
+            String etag = "\"" + version + (binary ? "-b" : "") + "\"";
+            if (matchesETag(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .cacheControl(CacheControl.noCache())
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .build();
+            }
+
+            if (binary) {
+                return ResponseEntity.ok()
+                        .contentType(MediaType.parseMediaType(MarkerPointEncoder.MEDIA_TYPE))
+                        .eTag(etag)
+                        .cacheControl(CacheControl.noCache())
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(MarkerPointEncoder.encode(markerService.getMarkerPoints()));
+            }
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(markerService.getMarkers());
+        });
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<?> getMarkerDetail(@PathVariable("id") Integer id) {
-        try {
-            if (id == null) {
+    // ✅ 승인된 마커 전체 내보내기 (format=ndjson | geojson), 메모리에 모으지 않고 바로 스트리밍
+    // 느린 클라이언트도 받을 수 있도록 전역 비동기 제한 시간 대신 export.timeout-ms 를 적용
+    @GetMapping("/export")
+    public Object exportMarkers(@RequestParam(name = "format", defaultValue = "ndjson") String format,
+                                HttpServletResponse response) {
+        if (!MarkerExportService.isSupportedFormat(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+        String contentType = MarkerExportService.FORMAT_GEOJSON.equals(format) ? "application/geo+json" : "application/x-ndjson";
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"markers." + format + "\"");
+
+        // 응답은 작업 안에서 직접 쓰고 null 을 반환 (HttpServletResponse 인자가 있으므로 뷰로 넘어가지 않음)
+        WebAsyncTask<Void> task = new WebAsyncTask<>(exportTimeoutMs, () -> {
+            markerExportService.export(format, response.getOutputStream());
+            return null;
+        });
+        task.onTimeout(() -> {
+            log.warn("🚨 마커 내보내기 시간 초과 ({}ms)", exportTimeoutMs);
+            return null;
+        });
+        return task;
+    }
+
+    @GetMapping("/bounds")
+    public Object getMarkersInBounds(@RequestParam("minLat") double minLat,
+                                     @RequestParam("maxLat") double maxLat,
+                                     @RequestParam("minLon") double minLon,
+                                     @RequestParam("maxLon") double maxLon,
+                                     @RequestParam(name = "zoom", defaultValue = "20") int zoom,
+                                     @RequestParam(name = "cursor", required = false) Integer cursor,
+                                     @RequestParam(name = "size", required = false) Integer size) throws Exception {
+        return requestExecution.read(() -> {
+            try {
+                return ResponseEntity.ok(markerService.getMarkersInBounds(minLat, maxLat, minLon, maxLon, zoom, cursor, size));
+            } catch (IllegalArgumentException e) {
                 Map<String, Object> error = new HashMap<>();
-                error.put("error", "유효하지 않은 ID");
+                error.put("error", "지도 영역 조회 불가");
+                error.put("message", e.getMessage());
                 return ResponseEntity.badRequest().body(error);
             }
+        });
+    }
 
-            Map<String, Object> marker = markerService.getMarkerById(id);
-            if (marker == null) {
+    @GetMapping("/clusters")
+    public Object getClusters(@RequestParam("zoom") int zoom,
+                              @RequestParam("minLat") double minLat,
+                              @RequestParam("maxLat") double maxLat,
+                              @RequestParam("minLon") double minLon,
+                              @RequestParam("maxLon") double maxLon) throws Exception {
+        return requestExecution.read(() -> {
+            try {
+                return ResponseEntity.ok(markerService.getClusters(zoom, minLat, maxLat, minLon, maxLon));
+            } catch (IllegalArgumentException e) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("error", "클러스터 조회 불가");
+                error.put("message", e.getMessage());
+                return ResponseEntity.badRequest().body(error);
+            } catch (IllegalStateException e) {
                 Map<String, Object> error = new HashMap<>();
-                error.put("error", "해당 ID의 마커를 찾을 수 없습니다.");
-                return ResponseEntity.status(404).body(error);
+                error.put("error", "클러스터 조회 불가");
+                error.put("message", e.getMessage());
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
             }
+        });
+    }
+
+    @GetMapping("/{id}")
+    public Object getMarkerDetail(@PathVariable("id") Integer id) throws Exception {
+        return requestExecution.read(() -> {
+            try {
+                if (id == null) {
+                    Map<String, Object> error = new HashMap<>();
+                    error.put("error", "유효하지 않은 ID");
+                    return ResponseEntity.badRequest().body(error);
+                }
+
+                Marker marker = markerService.getMarkerById(id);
+                if (marker == null) {
+                    Map<String, Object> error = new HashMap<>();
+                    error.put("error", "해당 ID의 마커를 찾을 수 없습니다.");
+                    return ResponseEntity.status(404).body(error);
+                }
 
-            Object imagesObj = marker.get("images");
-            if (imagesObj instanceof String) {
-                String imagesStr = (String) imagesObj;
-                List<String> imageList = Arrays.asList(imagesStr.split(","));
-                marker.put("images", imageList);
+                return ResponseEntity.ok(marker);
+            } catch (Exception e) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("error", "마커 상세 조회 중 오류 발생");
+                error.put("message", e.getMessage());
+                return ResponseEntity.status(500).body(error);
             }
+        });
+    }
 
-            return ResponseEntity.ok(marker);
-        } catch (Exception e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("error", "마커 상세 조회 중 오류 발생");
-            error.put("message", e.getMessage());
-            return ResponseEntity.status(500).body(error);
+    private boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
         }
+        return false;
     }
 }
@@ -0,0 +1,65 @@
+package com.example.demo.controller;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+/**
+ * 컨트롤러 처리 방식 선택 (web.execution-mode).
+ *
+ * sync(기본) 이면 지금처럼 Tomcat 스레드에서 바로 실행하고,
+ * async 이면 조회/업로드를 각각의 스레드 풀로 넘기고 Tomcat 스레드는 즉시 반환한다.
+ * 핸들러는 반환 타입을 Object 로 두고 이 클래스의 결과를 그대로 반환한다
+ * (ResponseEntity 또는 WebAsyncTask, Spring 이 실제 반환 값의 타입으로 처리).
+ */
+@Component
+public class RequestExecution {
+
+    private final boolean async;
+    private final ThreadPoolTaskExecutor readExecutor;
+    private final ThreadPoolTaskExecutor uploadExecutor;
+    private final long readTimeoutMs;
+    private final long uploadTimeoutMs;
+
+    public RequestExecution(@Value("${web.execution-mode:sync}") String mode,
+                            @Qualifier("readRequestExecutor") ThreadPoolTaskExecutor readExecutor,
+                            @Qualifier("uploadRequestExecutor") ThreadPoolTaskExecutor uploadExecutor,
+                            @Value("${web.async.read.timeout-ms:10000}") long readTimeoutMs,
+                            @Value("${web.async.upload.timeout-ms:120000}") long uploadTimeoutMs) {
+        this.async = "async".equalsIgnoreCase(mode);
+        this.readExecutor = readExecutor;
+        this.uploadExecutor = uploadExecutor;
+        this.readTimeoutMs = readTimeoutMs;
+        this.uploadTimeoutMs = uploadTimeoutMs;
+    }
+
+    public Object read(Callable<ResponseEntity<?>> handler) throws Exception {
+        return run(handler, readExecutor, readTimeoutMs);
+    }
+
+    public Object upload(Callable<ResponseEntity<?>> handler) throws Exception {
+        return run(handler, uploadExecutor, uploadTimeoutMs);
+    }
+
+    private Object run(Callable<ResponseEntity<?>> handler, ThreadPoolTaskExecutor executor, long timeoutMs) throws Exception {
+        if (!async) {
+            return handler.call();
+        }
+        WebAsyncTask<ResponseEntity<?>> task = new WebAsyncTask<>(timeoutMs, executor, handler);
+        task.onTimeout(() -> {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "요청 처리 시간 초과");
+            error.put("message", timeoutMs + "ms 안에 처리하지 못했습니다.");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+        });
+        return task;
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.demo.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriUtils;
+
+/**
+ * 업로드된 이미지 정적 서빙.
+ *
+ * 업로드 파일은 저장 후 바뀌지 않으므로 강한 ETag 와 1년짜리 immutable 캐시를 내려주고,
+ * If-None-Match 는 304, Range 는 206 으로 응답한다.
+ * 본문은 Tomcat sendfile(지원 시) 또는 FileChannel.transferTo 로 복사 없이 전송한다.
+ */
+@RestController
+public class UploadController {
+
+    private static final Path UPLOAD_ROOT = Paths.get("uploads").toAbsolutePath().normalize();
+    private static final String URL_PREFIX = "/uploads/";
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    // uploads/{sha256}_{size}.jpg 는 이름 자체가 내용 해시
+    private static final Pattern HASHED_NAME = Pattern.compile("^([0-9a-f]{64}_[a-z]+)\\.jpg$");
+    private static final Pattern SINGLE_RANGE = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+    // parseRange 결과: 416 으로 응답
+    static final long[] UNSATISFIABLE = new long[0];
+
+    // Tomcat sendfile 요청 속성
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @RequestMapping(value = "/uploads/**", method = { RequestMethod.GET, RequestMethod.HEAD })
+    public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = resolve(request);
+        if (file == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        String etag = etag(file, length, lastModified);
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+
+        if (matchesIfNoneMatch(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        String mimeType = request.getServletContext().getMimeType(file.getFileName().toString());
+        response.setContentType(mimeType != null ? mimeType : "application/octet-stream");
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        // If-Range 가 현재 ETag 와 다르면 Range 를 무시하고 전체를 보낸다
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            long[] bytes = parseRange(range, length);
+            if (bytes == UNSATISFIABLE) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            // 여러 구간 요청(bytes=0-1,5-6)은 지원하지 않고 200 으로 전체 전송
+            if (bytes != null) {
+                start = bytes[0];
+                end = bytes[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * 단일 구간 Range 헤더 → {start, end} (end 포함).
+     * 단일 구간 형식이 아니면 null (Range 무시), 만족할 수 없거나 숫자가 long 범위를 넘으면 UNSATISFIABLE.
+     */
+    static long[] parseRange(String range, long length) {
+        Matcher matcher = SINGLE_RANGE.matcher(range.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+        String first = matcher.group(1);
+        String last = matcher.group(2);
+        long start;
+        long end = length - 1;
+        try {
+            if (first.isEmpty() && !last.isEmpty()) {
+                // bytes=-N : 마지막 N 바이트
+                start = Math.max(0, length - Long.parseLong(last));
+            } else if (!first.isEmpty()) {
+                start = Long.parseLong(first);
+                if (!last.isEmpty()) {
+                    end = Math.min(end, Long.parseLong(last));
+                }
+            } else {
+                return UNSATISFIABLE;
+            }
+        } catch (NumberFormatException e) {
+            return UNSATISFIABLE;
+        }
+        return start > end ? UNSATISFIABLE : new long[] { start, end };
+    }
+
+    // 요청 경로 → uploads 폴더 안의 실제 파일 (폴더 밖, 숨김/임시 파일은 거부)
+    private Path resolve(HttpServletRequest request) {
+        String uri = request.getRequestURI().substring(request.getContextPath().length());
+        if (!uri.startsWith(URL_PREFIX)) {
+            return null;
+        }
+        String relative = UriUtils.decode(uri.substring(URL_PREFIX.length()), StandardCharsets.UTF_8);
+        if (relative.isEmpty()) {
+            return null;
+        }
+
+        Path file = UPLOAD_ROOT.resolve(relative).normalize();
+        if (!file.startsWith(UPLOAD_ROOT) || file.getFileName().toString().startsWith(".")
+                || !Files.isRegularFile(file)) {
+            return null;
+        }
+        return file;
+    }
+
+    private String etag(Path file, long length, long lastModified) {
+        Matcher matcher = HASHED_NAME.matcher(file.getFileName().toString());
+        if (matcher.matches()) {
+            return "\"" + matcher.group(1) + "\"";
+        }
+        return "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    private boolean matchesIfNoneMatch(String header, String etag) {
+        if (header == null) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
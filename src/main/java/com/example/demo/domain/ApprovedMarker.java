@@ -0,0 +1,23 @@
+package com.example.demo.domain;
+
+/**
+ * 일괄 승인 결과 한 건: 승인된 등록 요청 id 와 새로 만들어진 마커.
+ */
+public final class ApprovedMarker {
+
+    private final int pendingId;
+    private final MarkerPoint marker;
+
+    public ApprovedMarker(int pendingId, int id, double latitude, double longitude, String title) {
+        this.pendingId = pendingId;
+        this.marker = new MarkerPoint(id, latitude, longitude, title);
+    }
+
+    public int getPendingId() {
+        return pendingId;
+    }
+
+    public MarkerPoint getMarker() {
+        return marker;
+    }
+}
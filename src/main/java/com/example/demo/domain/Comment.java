@@ -0,0 +1,35 @@
+package com.example.demo.domain;
+
+import java.sql.Timestamp;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * 마커 댓글 (marker_comments 테이블 한 행).
+ */
+public final class Comment {
+
+    private final int commentId;
+    private final String content;
+    private final Timestamp createdAt;
+
+    public Comment(int commentId, String content, Timestamp createdAt) {
+        this.commentId = commentId;
+        this.content = content;
+        this.createdAt = createdAt;
+    }
+
+    @JsonProperty("comment_id")
+    public int getCommentId() {
+        return commentId;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    @JsonProperty("created_at")
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+}
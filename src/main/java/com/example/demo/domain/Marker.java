@@ -0,0 +1,77 @@
+package com.example.demo.domain;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * 승인된 마커 (markers 테이블 한 행). images 는 조회 시점에 URL 목록으로 파싱되어 있다.
+ * JSON 이름은 컬럼 이름과 같은 snake_case (created_at, image_sizes).
+ * 크기별 URL(imageSizes)은 내보내기/목록처럼 쓰지 않는 행이 많으므로 처음 요청될 때 만든다.
+ */
+public final class Marker {
+
+    private final int id;
+    private final double latitude;
+    private final double longitude;
+    private final String title;
+    private final List<String> images;
+    private final Timestamp createdAt;
+    // 캐시된 인스턴스를 여러 스레드가 읽으므로 volatile (동시에 계산되어도 결과는 같다)
+    private volatile List<Map<String, String>> imageSizes;
+
+    public Marker(int id, double latitude, double longitude, String title, List<String> images, Timestamp createdAt) {
+        this.id = id;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.title = title;
+        this.images = images == null ? Collections.<String>emptyList() : Collections.unmodifiableList(images);
+        this.createdAt = createdAt;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public List<String> getImages() {
+        return images;
+    }
+
+    @JsonProperty("image_sizes")
+    public List<Map<String, String>> getImageSizes() {
+        List<Map<String, String>> sizes = imageSizes;
+        if (sizes == null) {
+            sizes = Collections.unmodifiableList(MarkerImages.sizes(images));
+            imageSizes = sizes;
+        }
+        return sizes;
+    }
+
+    @JsonProperty("created_at")
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+
+    public boolean isApproved() {
+        return true;
+    }
+
+    public MarkerPoint toPoint() {
+        return new MarkerPoint(id, latitude, longitude, title);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.demo.domain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 마커 이미지 컬럼(콤마로 구분된 경로) 해석과 크기별 URL 생성.
+ *
+ * 새로 처리된 이미지는 내용 해시로 저장되며 /uploads/{sha256}_{size}.jpg 형태를 가진다.
+ * 예전 방식으로 저장된 이미지는 원본 하나뿐이므로 모든 크기가 같은 URL을 가리킨다.
+ */
+public final class MarkerImages {
+
+    public static final String URL_PREFIX = "/uploads/";
+    public static final String[] SIZE_NAMES = { "thumb", "card", "full" };
+
+    private static final Pattern HASHED_IMAGE = Pattern.compile("^/uploads/([0-9a-f]{64})_full\\.jpg$");
+
+    private MarkerImages() {
+    }
+
+    public static String fileName(String hash, String size) {
+        return hash + "_" + size + ".jpg";
+    }
+
+    // ✅ DB 컬럼 값 → 이미지 URL 목록
+    public static List<String> parse(Object column) {
+        if (column == null) {
+            return Collections.emptyList();
+        }
+        List<String> urls = new ArrayList<>();
+        for (String path : column.toString().split(",")) {
+            String trimmed = path.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            urls.add(trimmed.startsWith(URL_PREFIX) ? trimmed : URL_PREFIX + trimmed);
+        }
+        return urls;
+    }
+
+    // ✅ 이미지 URL 하나 → { thumb, card, full } URL
+    public static Map<String, String> sizes(String url) {
+        Map<String, String> sizes = new LinkedHashMap<>();
+        Matcher matcher = HASHED_IMAGE.matcher(url);
+        boolean hashed = matcher.matches();
+        for (String size : SIZE_NAMES) {
+            sizes.put(size, hashed ? URL_PREFIX + fileName(matcher.group(1), size) : url);
+        }
+        return sizes;
+    }
+
+    public static List<Map<String, String>> sizes(List<String> urls) {
+        List<Map<String, String>> result = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            result.add(sizes(url));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.demo.domain;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 지도 표시용 최소 마커 정보 (id, 좌표, 이름). 이름이 없으면 JSON 에서 빠진다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public final class MarkerPoint {
+
+    private final int id;
+    private final double latitude;
+    private final double longitude;
+    private final String title;
+
+    public MarkerPoint(int id, double latitude, double longitude, String title) {
+        this.id = id;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.title = title;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public MarkerPoint withoutTitle() {
+        return title == null ? this : new MarkerPoint(id, latitude, longitude, null);
+    }
+}
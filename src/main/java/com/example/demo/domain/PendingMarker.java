@@ -0,0 +1,64 @@
+package com.example.demo.domain;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * 승인 대기 중인 마커 등록 요청 (pending_markers 테이블 한 행).
+ */
+public final class PendingMarker {
+
+    private final int id;
+    private final double latitude;
+    private final double longitude;
+    private final String title;
+    private final List<String> images;
+    private final Timestamp createdAt;
+
+    public PendingMarker(int id, double latitude, double longitude, String title, List<String> images, Timestamp createdAt) {
+        this.id = id;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.title = title;
+        this.images = images == null ? Collections.<String>emptyList() : Collections.unmodifiableList(images);
+        this.createdAt = createdAt;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public List<String> getImages() {
+        return images;
+    }
+
+    // 관리자 화면은 콤마로 구분된 image 컬럼 값을 그대로 사용
+    @JsonProperty("image")
+    public String getImage() {
+        return images.isEmpty() ? null : String.join(",", images);
+    }
+
+    @JsonProperty("created_at")
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+
+    public boolean isApproved() {
+        return false;
+    }
+}
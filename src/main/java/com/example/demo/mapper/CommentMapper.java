@@ -3,14 +3,26 @@ package com.example.demo.mapper;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.Map;
 
+import com.example.demo.domain.Comment;
+
 @Mapper
 public interface CommentMapper {
     void insertComment(@Param("markerId") int markerId, @Param("content") String content);
 
-    List<Map<String, Object>> getCommentsByMarkerId(@Param("markerId") int markerId,
+    // write-behind 버퍼의 여러 댓글을 한 번에 저장 (markerId, content, createdAt)
+    void insertComments(@Param("comments") List<Map<String, Object>> comments);
+
+    List<Comment> getCommentsByMarkerId(@Param("markerId") int markerId,
             @Param("offset") int offset,
             @Param("limit") int limit);
+
+    // (created_at, comment_id) 기준 keyset 페이지네이션, createdAt 이 null 이면 첫 페이지
+    List<Comment> getCommentsByCursor(@Param("markerId") int markerId,
+            @Param("createdAt") Timestamp createdAt,
+            @Param("commentId") Integer commentId,
+            @Param("limit") int limit);
 }
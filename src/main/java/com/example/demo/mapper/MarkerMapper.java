@@ -3,20 +3,33 @@ package com.example.demo.mapper;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 
+import com.example.demo.domain.ApprovedMarker;
+import com.example.demo.domain.Marker;
+import com.example.demo.domain.MarkerPoint;
+import com.example.demo.domain.PendingMarker;
+
 @Mapper
 public interface MarkerMapper {
     // ✅ 마커 등록 요청 (pending_markers 테이블에 저장)
     void insertPendingMarker(Map<String, Object> markerData);
 
     // ✅ 등록 요청된 마커 리스트 조회 (관리자가 승인하기 전 리스트)
-    List<Map<String, Object>> selectPendingMarkers();
+    List<PendingMarker> selectPendingMarkers();
 
     // ✅ 특정 등록 요청된 마커 조회 (승인 또는 거절할 때 사용)
-    Map<String, Object> getPendingMarkerById(int id);
+    PendingMarker getPendingMarkerById(int id);
+
+    // ✅ 비동기 이미지 처리 완료 후 등록 요청의 이미지 경로 갱신 (처리 중 표시도 해제 → 승인 가능)
+    int updatePendingMarkerImage(@Param("id") int id, @Param("image") String image);
+
+    // ✅ 처리 중 표시가 1시간 넘게 남아 있는 등록 요청 id
+    List<Integer> getStaleProcessingPendingMarkerIds();
+
+    // ✅ ids 중 아직 이미지 처리 중인 등록 요청 id
+    List<Integer> getProcessingPendingMarkerIds(@Param("ids") List<Integer> ids);
 
     // ✅ 마커 승인 (pending_markers → markers 테이블로 이동)
     void insertMarker(Map<String, Object> markerData);
@@ -24,27 +37,64 @@ public interface MarkerMapper {
     // ✅ 등록 요청 삭제 (승인되지 않은 요청을 거절할 때 사용)
     void deletePendingMarker(int id);
 
+    // ✅ 일괄 승인: pending_markers 에서 지우고 markers 에 넣는 것을 한 문장으로 처리
+    List<ApprovedMarker> approvePendingMarkers(@Param("ids") List<Integer> ids);
+
+    // ✅ 일괄 거절: 실제로 삭제된 요청 id 반환
+    List<Integer> deletePendingMarkers(@Param("ids") List<Integer> ids);
+
     // ✅ 전체 승인된 마커 리스트 조회
-    List<Map<String, Object>> selectMarkers();
+    List<Marker> selectMarkers();
 
     // ✅ 특정 마커 상세 조회
-    Map<String, Object> getMarkerById(int id);
+    Marker getMarkerById(int id);
+
+    // ✅ 여러 마커 상세를 한 번에 조회 (없는 id 는 빠진다, 순서 보장 없음)
+    List<Marker> getMarkersByIds(@Param("ids") List<Integer> ids);
 
     // ✅ 특정 마커 삭제
-    void deleteMarker(int id);
+    int deleteMarker(int id);
 
-	Map<String, Object> selectMarkerById(int id);
+	Marker selectMarkerById(int id);
 
-	List<Map<String, Object>> getPendingMarkers();
+	List<PendingMarker> getPendingMarkers();
 
-	List<Map<String, Object>> getMarkers();
+	List<Marker> getMarkers();
 
 	void deleteRequestdMarker(Integer id);
 
-    List<Map<String, Object>> findMarkersWithinRadius(
-            @Param("minLat") BigDecimal minLat,
-            @Param("maxLat") BigDecimal maxLat,
-            @Param("minLon") BigDecimal minLon,
-            @Param("maxLon") BigDecimal maxLon
+    // ✅ 승인된 마커 + 승인 대기 요청 중 (latitude, longitude) 에서 meters 이내에 있는 것이 있는지
+    // bounding box 로 인덱스 범위를 좁힌 뒤 거리 계산은 DB 에서 수행
+    boolean existsMarkerNearby(
+            @Param("latitude") double latitude,
+            @Param("longitude") double longitude,
+            @Param("meters") double meters,
+            @Param("minLat") double minLat,
+            @Param("maxLat") double maxLat,
+            @Param("minLon") double minLon,
+            @Param("maxLon") double maxLon
+    );
+
+    // ✅ 격자 셀 단위 트랜잭션 잠금 (트랜잭션이 끝나면 자동 해제)
+    int lockGridCell(@Param("key") long key);
+
+    // ✅ 같은 키의 공유 잠금 (격자 행 잠금: 셀 단위로 잠그는 요청끼리는 서로 막지 않는다)
+    int lockGridCellShared(@Param("key") long key);
+
+    // ✅ 공간 인덱스 적재용: 승인된 마커의 좌표와 이름만 조회
+    List<MarkerPoint> getMarkerPoints();
+
+    // ✅ 전체 내보내기용: afterId 다음부터 id 순으로 최대 limit 개 (afterId 가 null 이면 처음부터)
+    List<Marker> getMarkersAfter(@Param("afterId") Integer afterId, @Param("limit") int limit);
+
+    // ✅ 지도 화면 영역(bounding box) 안의 승인된 마커 조회 (id 기준 keyset 페이지네이션)
+    List<MarkerPoint> findMarkersInBounds(
+            @Param("minLat") double minLat,
+            @Param("maxLat") double maxLat,
+            @Param("minLon") double minLon,
+            @Param("maxLon") double maxLon,
+            @Param("afterId") Integer afterId,
+            @Param("limit") int limit,
+            @Param("withTitle") boolean withTitle
     );
 }
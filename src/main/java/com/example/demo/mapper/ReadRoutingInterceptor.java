@@ -0,0 +1,49 @@
+package com.example.demo.mapper;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import com.example.demo.config.ReplicaRoutingDataSource;
+
+/**
+ * 매퍼 문장 종류로 primary/replica 를 고른다 (replica.enabled=true 일 때만 등록).
+ *
+ * 데이터를 바꾸지 않는 SELECT 는 실행하는 동안 읽기로 표시한다.
+ * DELETE ... RETURNING 처럼 데이터를 바꾸는 select 문장은 XML 에 flushCache="true" 를 붙여 쓰기로 취급한다.
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update",
+                args = { MappedStatement.class, Object.class }),
+        @Signature(type = Executor.class, method = "query",
+                args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class }),
+        @Signature(type = Executor.class, method = "query",
+                args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class }),
+        @Signature(type = Executor.class, method = "queryCursor",
+                args = { MappedStatement.class, Object.class, RowBounds.class })
+})
+public class ReadRoutingInterceptor implements Interceptor {
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        if (statement.getSqlCommandType() != SqlCommandType.SELECT || statement.isFlushCacheRequired()) {
+            ReplicaRoutingDataSource.markWrite();
+            return invocation.proceed();
+        }
+        ReplicaRoutingDataSource.markReadStatement();
+        try {
+            return invocation.proceed();
+        } finally {
+            ReplicaRoutingDataSource.clearReadStatement();
+        }
+    }
+}
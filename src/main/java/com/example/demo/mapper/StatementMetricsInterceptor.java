@@ -0,0 +1,88 @@
+package com.example.demo.mapper;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 매퍼 문장 단위 실행 시간 측정 (mybatis.statement 타이머).
+ *
+ * statement 태그는 "MarkerMapper.getMarkers" 형태이고, 기준 시간보다 오래 걸린 문장은 WARN 으로 남긴다.
+ * 커서 조회(queryCursor)는 커서를 여는 데까지만 측정된다.
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update",
+                args = { MappedStatement.class, Object.class }),
+        @Signature(type = Executor.class, method = "query",
+                args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class }),
+        @Signature(type = Executor.class, method = "query",
+                args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class }),
+        @Signature(type = Executor.class, method = "queryCursor",
+                args = { MappedStatement.class, Object.class, RowBounds.class })
+})
+public class StatementMetricsInterceptor implements Interceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementMetricsInterceptor.class);
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public StatementMetricsInterceptor(MeterRegistry meterRegistry, long slowThresholdMillis) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Object result = invocation.proceed();
+            success = true;
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            String name = shortName(statement.getId());
+            timer(name, statement, success).record(elapsed, TimeUnit.NANOSECONDS);
+            if (elapsed >= slowThresholdNanos) {
+                log.warn("🐢 느린 쿼리: {} {}ms", name, TimeUnit.NANOSECONDS.toMillis(elapsed));
+            }
+        }
+    }
+
+    private Timer timer(String name, MappedStatement statement, boolean success) {
+        String outcome = success ? "success" : "error";
+        return timers.computeIfAbsent(name + ":" + outcome, key -> Timer.builder("mybatis.statement")
+                .description("매퍼 문장 실행 시간")
+                .tag("statement", name)
+                .tag("type", statement.getSqlCommandType().name())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    // com.example.demo.mapper.MarkerMapper.getMarkers → MarkerMapper.getMarkers
+    private static String shortName(String id) {
+        int method = id.lastIndexOf('.');
+        int type = method > 0 ? id.lastIndexOf('.', method - 1) : -1;
+        return type >= 0 ? id.substring(type + 1) : id;
+    }
+}
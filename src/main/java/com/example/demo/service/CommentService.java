@@ -1,27 +1,117 @@
 package com.example.demo.service;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
+import com.example.demo.config.ReplicaRoutingDataSource;
+import com.example.demo.domain.Comment;
 import com.example.demo.mapper.CommentMapper;
+import com.github.benmanes.caffeine.cache.Cache;
 
 @Service
 public class CommentService {
+    // 커서 페이지 한 번에 내려주는 최대 댓글 수
+    private static final int MAX_CURSOR_PAGE_SIZE = 50;
+
     private final CommentMapper commentMapper;
+    private final Cache<String, List<Comment>> commentPageCache;
+    // 마커별 댓글 세대. 페이지 캐시 키에 포함되므로 세대를 올리면 이전 페이지는 더 이상 조회되지 않고 LRU/TTL 로 빠진다
+    private final ConcurrentMap<Integer, Long> generations = new ConcurrentHashMap<>();
+    // comment.write-mode=write-behind 일 때만 존재, 아니면 null (동기 저장)
+    private final CommentWriteBuffer writeBuffer;
 
-    public CommentService(CommentMapper commentMapper) {
+    public CommentService(CommentMapper commentMapper, Cache<String, List<Comment>> commentPageCache,
+                          ObjectProvider<CommentWriteBuffer> writeBuffer) {
         this.commentMapper = commentMapper;
+        this.commentPageCache = commentPageCache;
+        this.writeBuffer = writeBuffer.getIfAvailable();
+        if (this.writeBuffer != null) {
+            this.writeBuffer.onFlush(markerIds -> markerIds.forEach(this::evictComments));
+        }
     }
 
     public void addComment(int markerId, String content) {
         if (content.length() > 40) {
             throw new IllegalArgumentException("댓글은 40자 이하만 가능합니다.");
         }
+        // write-behind 모드에서는 큐에 넣고, 캐시는 실제 저장 후 무효화된다
+        if (writeBuffer != null && writeBuffer.offer(markerId, content)) {
+            return;
+        }
         commentMapper.insertComment(markerId, content);
+        evictComments(markerId);
+    }
+
+    // 캐시에 들어가는 페이지는 primary 에서 읽는다 (무효화 직후 replica 의 지난 페이지가 TTL 동안 남지 않도록)
+    public List<Comment> getComments(int markerId, int page, int size) {
+        return commentPageCache.get(pageKey(markerId) + page + ":" + size, key -> {
+            int offset = (page - 1) * size;
+            return Collections.unmodifiableList(ReplicaRoutingDataSource.usePrimary(
+                    () -> commentMapper.getCommentsByMarkerId(markerId, offset, size)));
+        });
+    }
+
+    // ✅ 커서 기반 댓글 조회: { comments, nextCursor } 반환, 마지막 페이지면 nextCursor 는 null
+    public Map<String, Object> getCommentsByCursor(int markerId, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        String cacheKey = pageKey(markerId) + "c:" + (cursor == null ? "" : cursor) + ":" + limit;
+
+        // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+        List<Comment> rows = commentPageCache.get(cacheKey, key -> {
+            Object[] position = cursor != null && !cursor.isEmpty() ? decodeCursor(cursor) : new Object[2];
+            Timestamp createdAt = (Timestamp) position[0];
+            Integer commentId = (Integer) position[1];
+            return Collections.unmodifiableList(ReplicaRoutingDataSource.usePrimary(
+                    () -> commentMapper.getCommentsByCursor(markerId, createdAt, commentId, limit + 1)));
+        });
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            nextCursor = encodeCursor(rows.get(limit - 1));
+        }
+
+        Map<String, Object> page = new HashMap<>();
+        page.put("comments", rows);
+        page.put("nextCursor", nextCursor);
+        return page;
+    }
+
+    // 커서 = base64url("초:나노초:comment_id"), 클라이언트에는 불투명한 문자열
+    static String encodeCursor(Comment comment) {
+        Timestamp createdAt = comment.getCreatedAt();
+        long seconds = Math.floorDiv(createdAt.getTime(), 1000L);
+        String raw = seconds + ":" + createdAt.getNanos() + ":" + comment.getCommentId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Object[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            Timestamp createdAt = new Timestamp(Long.parseLong(parts[0]) * 1000L);
+            createdAt.setNanos(Integer.parseInt(parts[1]));
+            return new Object[] { createdAt, Integer.valueOf(parts[2]) };
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+
+    // "markerId:세대:" (페이지 캐시 키 앞부분)
+    private String pageKey(int markerId) {
+        return markerId + ":" + generations.getOrDefault(markerId, 0L) + ":";
     }
 
-    public List<Map<String, Object>> getComments(int markerId, int page, int size) {
-        int offset = (page - 1) * size;
-        return commentMapper.getCommentsByMarkerId(markerId, offset, size);
+    // ✅ 해당 마커의 캐시된 댓글 페이지를 모두 무효화 (세대만 올리므로 캐시 크기와 무관하게 O(1))
+    public void evictComments(int markerId) {
+        generations.merge(markerId, 1L, Long::sum);
     }
 }
@@ -0,0 +1,216 @@
+package com.example.demo.service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.mapper.CommentMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 댓글 write-behind 버퍼 (comment.write-mode=write-behind 일 때만 생성).
+ *
+ * 댓글을 메모리 큐에 쌓아 두었다가 batch-size 에 도달하거나 flush-interval-ms 가 지나면
+ * 여러 행을 한 번의 INSERT 로 저장한다. 종료 시에는 남은 댓글을 모두 저장한다.
+ *
+ * 저장 실패 처리:
+ * - 제약 조건 위반(삭제된 마커의 댓글 등): 한 행씩 다시 저장해 문제 행만 dead letter 로 남기고 나머지는 저장
+ * - 그 밖의 오류(DB 연결 끊김 등): 다음 flush 에서 다시 시도하고, max-attempts 번 연속 실패하면 dead letter
+ * dead letter 는 ERROR 로그(마커 id, 시각, 내용)와 comment.write-behind.dead-letter 카운터로 남는다.
+ */
+@Component
+@ConditionalOnProperty(name = "comment.write-mode", havingValue = "write-behind")
+public class CommentWriteBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentWriteBuffer.class);
+
+    private final CommentMapper commentMapper;
+    private final BlockingQueue<Map<String, Object>> queue;
+    private final int batchSize;
+    private final ScheduledExecutorService flusher;
+    private final Timer flushLatency;
+    private final Counter deadLetters;
+    private final int maxAttempts;
+    // batch-size 도달로 예약된 flush 가 이미 있으면 다시 예약하지 않는다
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    // 저장에 실패한 배치는 다음 flush 에서 다시 시도 (flusher 스레드에서만 접근)
+    private List<Map<String, Object>> retryBatch;
+    private int failedAttempts;
+    private volatile Consumer<Set<Integer>> flushListener = markerIds -> { };
+
+    public CommentWriteBuffer(CommentMapper commentMapper, MeterRegistry meterRegistry,
+                              @Value("${comment.write-behind.batch-size:100}") int batchSize,
+                              @Value("${comment.write-behind.flush-interval-ms:200}") long flushIntervalMs,
+                              @Value("${comment.write-behind.queue-capacity:10000}") int queueCapacity,
+                              @Value("${comment.write-behind.max-attempts:50}") int maxAttempts) {
+        this.commentMapper = commentMapper;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flushLatency = Timer.builder("comment.write-behind.flush")
+                .description("댓글 배치 INSERT 한 번에 걸린 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.deadLetters = Counter.builder("comment.write-behind.dead-letter")
+                .description("저장을 포기한 댓글 수")
+                .register(meterRegistry);
+        Gauge.builder("comment.write-behind.queue.depth", queue, BlockingQueue::size)
+                .description("저장 대기 중인 댓글 수")
+                .register(meterRegistry);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "comment-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    // 저장이 끝난 마커 id 들을 받아 캐시 무효화 등에 사용
+    public void onFlush(Consumer<Set<Integer>> listener) {
+        this.flushListener = listener;
+    }
+
+    // ✅ 큐에 넣기. 가득 차 있으면 false → 호출하는 쪽이 동기 저장
+    public boolean offer(int markerId, String content) {
+        Map<String, Object> comment = new HashMap<>();
+        comment.put("markerId", markerId);
+        comment.put("content", content);
+        // 작성 시각은 큐에 넣는 시점 기준 (flush 시점의 NOW() 가 아님)
+        comment.put("createdAt", new Timestamp(System.currentTimeMillis()));
+
+        if (!queue.offer(comment)) {
+            return false;
+        }
+        if (queue.size() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushScheduled.set(false);
+                flush();
+            });
+        }
+        return true;
+    }
+
+    void flush() {
+        try {
+            if (retryBatch != null) {
+                List<Map<String, Object>> batch = retryBatch;
+                retryBatch = null;
+                insert(batch);
+            }
+            List<Map<String, Object>> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                insert(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        } catch (RuntimeException e) {
+            log.error("🚨 댓글 배치 저장 실패", e);
+        }
+    }
+
+    private void insert(List<Map<String, Object>> batch) {
+        long start = System.nanoTime();
+        try {
+            commentMapper.insertComments(batch);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("🚨 댓글 배치에 저장할 수 없는 행이 있어 한 행씩 저장: {}", e.getMessage());
+            insertEach(batch);
+            return;
+        } catch (RuntimeException e) {
+            retryLater(batch, e);
+            return;
+        }
+        failedAttempts = 0;
+        flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        saved(batch);
+    }
+
+    // 제약 조건을 위반한 행만 dead letter 로 보내고 나머지는 저장
+    private void insertEach(List<Map<String, Object>> batch) {
+        List<Map<String, Object>> saved = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            Map<String, Object> comment = batch.get(i);
+            try {
+                commentMapper.insertComments(Collections.singletonList(comment));
+                saved.add(comment);
+            } catch (DataIntegrityViolationException e) {
+                deadLetter(Collections.singletonList(comment), e);
+            } catch (RuntimeException e) {
+                saved(saved);
+                retryLater(new ArrayList<>(batch.subList(i, batch.size())), e);
+                return;
+            }
+        }
+        failedAttempts = 0;
+        saved(saved);
+    }
+
+    // 다음 flush 에서 다시 시도 (예외를 다시 던져 이번 flush 는 중단). 연속 실패가 max-attempts 에 닿으면 포기
+    private void retryLater(List<Map<String, Object>> batch, RuntimeException e) {
+        if (++failedAttempts >= maxAttempts) {
+            failedAttempts = 0;
+            deadLetter(batch, e);
+            return;
+        }
+        retryBatch = batch;
+        throw e;
+    }
+
+    private void deadLetter(List<Map<String, Object>> comments, RuntimeException cause) {
+        for (Map<String, Object> comment : comments) {
+            log.error("🚨 댓글 저장 포기 (dead letter): markerId={}, createdAt={}, content={}",
+                    comment.get("markerId"), comment.get("createdAt"), comment.get("content"));
+        }
+        log.error("🚨 댓글 {}개 저장 포기", comments.size(), cause);
+        deadLetters.increment(comments.size());
+    }
+
+    private void saved(List<Map<String, Object>> comments) {
+        if (comments.isEmpty()) {
+            return;
+        }
+        Set<Integer> markerIds = new HashSet<>();
+        for (Map<String, Object> comment : comments) {
+            markerIds.add((Integer) comment.get("markerId"));
+        }
+        flushListener.accept(markerIds);
+    }
+
+    // ✅ 종료 시 남은 댓글 저장
+    @PreDestroy
+    public void drain() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+        int lost = queue.size() + (retryBatch == null ? 0 : retryBatch.size());
+        if (lost > 0) {
+            log.error("🚨 종료 시 저장하지 못한 댓글: {}개", lost);
+        }
+    }
+}
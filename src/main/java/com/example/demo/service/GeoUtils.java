@@ -0,0 +1,43 @@
+package com.example.demo.service;
+
+/**
+ * 위경도 계산 유틸리티 (구면 지구 근사).
+ */
+public final class GeoUtils {
+
+    public static final double EARTH_RADIUS = 6371000;
+
+    private GeoUtils() {
+    }
+
+    // 위도 [-90, 90], 경도 [-180, 180] 안의 값인지 (NaN 은 비교가 모두 false 라 함께 걸러진다)
+    public static boolean isValidCoordinate(double latitude, double longitude) {
+        return latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180;
+    }
+
+    public static double metersToLatitudeDegrees(double meters) {
+        return (meters / EARTH_RADIUS) * (180 / Math.PI);
+    }
+
+    public static double metersToLongitudeDegrees(double meters, double latitude) {
+        return (meters / (EARTH_RADIUS * Math.cos(Math.toRadians(latitude)))) * (180 / Math.PI);
+    }
+
+    // 중심에서 meters 만큼 떨어진 사각 영역: { minLat, maxLat, minLon, maxLon }
+    public static double[] boundingBox(double latitude, double longitude, double meters) {
+        double latRange = metersToLatitudeDegrees(meters);
+        double lonRange = metersToLongitudeDegrees(meters, latitude);
+        return new double[] { latitude - latRange, latitude + latRange, longitude - lonRange, longitude + lonRange };
+    }
+
+    // Haversine 공식으로 두 좌표 사이의 거리(m) 계산
+    public static double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return EARTH_RADIUS * c;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.demo.service;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * 이미지 디코딩/리사이즈/JPEG 인코딩.
+ */
+public final class ImageCodec {
+
+    private ImageCodec() {
+    }
+
+    /**
+     * 긴 변이 목표 너비의 2배가 남는 선에서 행/열을 건너뛰며(subsampling) 디코딩한다.
+     * 원본 해상도·비율과 관계없이 메모리에 올라가는 래스터는 가로, 세로 모두 targetWidth × 4 미만이다
+     * (세로로 긴 이미지도 높이 기준으로 건너뛴다).
+     * 읽을 수 없는 형식이거나 maxPixels 를 넘으면 null.
+     */
+    public static BufferedImage readSubsampled(File source, int targetWidth, long maxPixels) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    return null;
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.max(width, height) / (targetWidth * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // targetWidth 보다 넓을 때만 줄이고, 아니면 그대로 반환
+    public static BufferedImage scaleDown(BufferedImage image, int targetWidth) {
+        return image.getWidth() > targetWidth ? resize(image, targetWidth) : image;
+    }
+
+    public static BufferedImage resize(BufferedImage originalImage, int targetWidth) {
+        int width = originalImage.getWidth();
+        int height = originalImage.getHeight();
+
+        double ratio = (double) targetWidth / width;
+        int newHeight = (int) (height * ratio);
+
+        BufferedImage resized = new BufferedImage(targetWidth, newHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = resized.createGraphics();
+        g.drawImage(originalImage, 0, 0, targetWidth, newHeight, null);
+        g.dispose();
+        return resized;
+    }
+
+    public static void writeJpeg(BufferedImage image, ImageOutputStream output, float quality) throws IOException {
+        ImageWriter jpgWriter = ImageIO.getImageWritersByFormatName("jpg").next();
+        ImageWriteParam jpgWriteParam = jpgWriter.getDefaultWriteParam();
+        jpgWriteParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        jpgWriteParam.setCompressionQuality(quality);
+
+        try {
+            jpgWriter.setOutput(output);
+            jpgWriter.write(null, new IIOImage(image, null, null), jpgWriteParam);
+        } finally {
+            jpgWriter.dispose();
+        }
+    }
+}
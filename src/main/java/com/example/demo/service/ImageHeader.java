@@ -0,0 +1,160 @@
+package com.example.demo.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+
+/**
+ * 업로드 이미지의 형식(매직 바이트)과 가로/세로 크기를 본문 전체를 읽기 전에 확인한다.
+ *
+ * 스트림 앞부분 최대 limit 바이트만 읽고 mark/reset 으로 되돌리므로,
+ * 확인이 끝난 뒤 같은 스트림을 처음부터 그대로 저장할 수 있다.
+ */
+public final class ImageHeader {
+
+    private final String format;
+    private final int width;
+    private final int height;
+
+    private ImageHeader(String format, int width, int height) {
+        this.format = format;
+        this.width = width;
+        this.height = height;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public long getPixels() {
+        return (long) width * height;
+    }
+
+    /**
+     * 지원하는 이미지(JPEG/PNG/GIF/BMP)가 아니거나 앞 limit 바이트 안에서 크기를 알 수 없으면 null.
+     * in 은 mark 를 지원해야 하며, 반환 시점에는 처음 위치로 되돌려져 있다.
+     */
+    public static ImageHeader read(InputStream in, int limit) throws IOException {
+        in.mark(limit);
+        try {
+            byte[] magic = new byte[8];
+            int length = 0;
+            int read;
+            while (length < magic.length && (read = in.read(magic, length, magic.length - length)) != -1) {
+                length += read;
+            }
+            String format = format(magic, length);
+            if (format == null) {
+                return null;
+            }
+
+            in.reset();
+            in.mark(limit);
+            ImageInputStream header = new MemoryCacheImageInputStream(new LimitedInputStream(in, limit));
+            Iterator<ImageReader> readers = ImageIO.getImageReadersByFormatName(format);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(header, true, true);
+                return new ImageHeader(format, reader.getWidth(0), reader.getHeight(0));
+            } catch (IOException e) {
+                // 크기 정보가 limit 바이트 뒤에 있거나 헤더가 깨진 경우
+                return null;
+            } finally {
+                reader.dispose();
+                header.close();
+            }
+        } finally {
+            in.reset();
+        }
+    }
+
+    private static String format(byte[] magic, int length) {
+        if (length >= 3 && (magic[0] & 0xFF) == 0xFF && (magic[1] & 0xFF) == 0xD8 && (magic[2] & 0xFF) == 0xFF) {
+            return "jpeg";
+        }
+        if (length >= 8 && (magic[0] & 0xFF) == 0x89 && magic[1] == 'P' && magic[2] == 'N' && magic[3] == 'G'
+                && magic[4] == 0x0D && magic[5] == 0x0A && magic[6] == 0x1A && magic[7] == 0x0A) {
+            return "png";
+        }
+        if (length >= 4 && magic[0] == 'G' && magic[1] == 'I' && magic[2] == 'F' && magic[3] == '8') {
+            return "gif";
+        }
+        if (length >= 2 && magic[0] == 'B' && magic[1] == 'M') {
+            return "bmp";
+        }
+        return null;
+    }
+
+    // limit 바이트 이후는 EOF 로 보이게 해서 mark 범위를 넘겨 읽지 않도록 한다 (close 는 전달하지 않음)
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b != -1) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = super.read(b, off, (int) Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.example.demo.service;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.imageio.stream.FileImageOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.example.demo.domain.MarkerImages;
+import com.example.demo.mapper.MarkerMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 마커 등록 요청 이미지 처리.
+ *
+ * 요청 스레드는 원본 바이트를 uploads-raw/{pendingMarkerId}/ 에 저장만 하고 바로 응답한다.
+ * 디코딩/리사이즈/JPEG 인코딩은 imageProcessingExecutor 에서 처리한 뒤
+ * pending_markers.image 컬럼을 채우고 원본 파일을 지운다.
+ * 등록 요청은 processing = TRUE 로 만들어지고, 처리가 끝나야(markReady 포함) 승인할 수 있다.
+ *
+ * 결과물은 원본 내용의 SHA-256 으로 이름 짓고 thumb/card/full 세 크기로 저장하므로
+ * 같은 사진을 여러 번 올려도 한 벌만 남는다.
+ */
+@Service
+public class ImageProcessingService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageProcessingService.class);
+
+    private static final Path UPLOAD_PATH = Paths.get("uploads");
+    private static final Path RAW_PATH = Paths.get("uploads-raw");
+    private static final int FULL_WIDTH = 800;
+    private static final int CARD_WIDTH = 400;
+    private static final int THUMB_WIDTH = 120;
+    private static final float JPEG_QUALITY = 0.75f;
+    // 형식/해상도 확인을 위해 업로드 스트림 앞에서 미리 읽는 최대 크기 (JPEG EXIF 썸네일 포함)
+    private static final int HEADER_LIMIT = 256 * 1024;
+
+    private final MarkerMapper markerMapper;
+    private final ThreadPoolTaskExecutor executor;
+    private final Timer processingLatency;
+    private final long maxPixels;
+    // image.processing.images{result=stored|reused|unreadable|failed}
+    private final Counter storedImages;
+    private final Counter reusedImages;
+    private final Counter unreadableImages;
+    private final Counter failedImages;
+
+    public ImageProcessingService(MarkerMapper markerMapper,
+                                  @Qualifier("imageProcessingExecutor") ThreadPoolTaskExecutor executor,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${image.processing.max-pixels:40000000}") long maxPixels) {
+        this.markerMapper = markerMapper;
+        this.executor = executor;
+        this.maxPixels = maxPixels;
+        this.processingLatency = Timer.builder("image.processing.latency")
+                .description("이미지 처리 요청부터 완료까지 걸린 시간 (큐 대기 포함)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("image.processing.queue.depth", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("처리 대기 중인 이미지 작업 수")
+                .register(meterRegistry);
+        this.storedImages = imageCounter(meterRegistry, "stored");
+        this.reusedImages = imageCounter(meterRegistry, "reused");
+        this.unreadableImages = imageCounter(meterRegistry, "unreadable");
+        this.failedImages = imageCounter(meterRegistry, "failed");
+    }
+
+    private static Counter imageCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("image.processing.images")
+                .description("처리한 원본 이미지 수 (결과별)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    // ✅ 재시작 전에 처리되지 못한 원본이 남아 있으면 다시 처리
+    @PostConstruct
+    public void resumeUnprocessed() {
+        releaseStaleRequests();
+        if (!Files.isDirectory(RAW_PATH)) {
+            return;
+        }
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(RAW_PATH)) {
+            for (Path dir : dirs) {
+                try {
+                    submit(Integer.parseInt(dir.getFileName().toString()));
+                } catch (NumberFormatException e) {
+                    log.warn("🚨 알 수 없는 원본 이미지 폴더: {}", dir);
+                }
+            }
+        } catch (IOException e) {
+            log.error("🚨 원본 이미지 폴더 조회 실패", e);
+        }
+    }
+
+    // 원본을 저장하기 전에 서버가 내려가 처리 중으로 남은 요청은 이미지 없이 승인 가능하게 풀어 준다
+    private void releaseStaleRequests() {
+        try {
+            for (int pendingMarkerId : markerMapper.getStaleProcessingPendingMarkerIds()) {
+                if (!Files.isDirectory(RAW_PATH.resolve(String.valueOf(pendingMarkerId)))) {
+                    log.warn("🚨 원본 이미지 없이 처리 중으로 남은 등록 요청: {}", pendingMarkerId);
+                    markReady(pendingMarkerId);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("🚨 처리 중 등록 요청 조회 실패", e);
+        }
+    }
+
+    // ✅ 이미지가 없는 등록 요청을 승인 가능 상태로
+    public void markReady(int pendingMarkerId) {
+        markerMapper.updatePendingMarkerImage(pendingMarkerId, null);
+    }
+
+    // ✅ 원본 바이트를 그대로 저장 (요청 스레드에서 실행, 헤더만 확인하고 디코딩은 하지 않음)
+    public boolean saveRawImages(int pendingMarkerId, List<MultipartFile> images) throws IOException {
+        int index = 0;
+        for (MultipartFile image : images) {
+            String originalFilename = image.getOriginalFilename();
+            if (originalFilename == null || originalFilename.trim().isEmpty()) {
+                log.warn("🚨 파일 이름이 비어 있음 (등록 요청 {})", pendingMarkerId);
+                continue;
+            }
+            try (InputStream in = image.getInputStream()) {
+                if (saveRawImage(pendingMarkerId, index, originalFilename, in)) {
+                    index++;
+                }
+            }
+        }
+        return index > 0;
+    }
+
+    /**
+     * 업로드 스트림 하나를 원본 파일로 저장.
+     * 앞부분(최대 256KB)에서 형식과 해상도를 먼저 확인한다.
+     * 이미지가 아니면 저장하지 않고 false (요청 전체는 그대로 진행), 해상도가 너무 크면 본문을 읽기 전에 거절된다.
+     */
+    public boolean saveRawImage(int pendingMarkerId, int index, String originalFilename, InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, 8192);
+        ImageHeader header = ImageHeader.read(buffered, HEADER_LIMIT);
+        if (header == null) {
+            log.warn("🚨 이미지 포맷을 읽을 수 없습니다: {} (등록 요청 {})", originalFilename, pendingMarkerId);
+            unreadableImages.increment();
+            return false;
+        }
+        if (header.getPixels() > maxPixels) {
+            throw new IllegalArgumentException("이미지 해상도가 너무 큽니다: " + originalFilename
+                    + " (" + header.getWidth() + "x" + header.getHeight() + ")");
+        }
+
+        Path dir = RAW_PATH.resolve(String.valueOf(pendingMarkerId));
+        Files.createDirectories(dir);
+        // 디렉토리 경로가 섞여 들어온 경우 파일 이름만 사용
+        String fileName = Paths.get(originalFilename).getFileName().toString();
+        Files.copy(buffered, dir.resolve(String.format("%02d_%s", index, fileName)), StandardCopyOption.REPLACE_EXISTING);
+        return true;
+    }
+
+    // ✅ 등록 요청이 취소된 경우 저장해 둔 원본 삭제
+    public void discardRawImages(int pendingMarkerId) {
+        Path dir = RAW_PATH.resolve(String.valueOf(pendingMarkerId));
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(dir);
+        } catch (IOException e) {
+            log.warn("🚨 원본 이미지 삭제 실패: {}", dir, e);
+        }
+    }
+
+    // ✅ 저장된 원본의 처리를 작업 풀에 맡김
+    public void submit(int pendingMarkerId) {
+        long submittedAt = System.nanoTime();
+        executor.execute(() -> {
+            try {
+                process(pendingMarkerId);
+            } finally {
+                processingLatency.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    private void process(int pendingMarkerId) {
+        Path dir = RAW_PATH.resolve(String.valueOf(pendingMarkerId));
+        List<Path> rawFiles = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                rawFiles.add(file);
+            }
+        } catch (IOException e) {
+            log.error("🚨 원본 이미지 조회 실패 (등록 요청 {})", pendingMarkerId, e);
+            failedImages.increment();
+            // 처리 중으로 남으면 승인할 수 없으므로 이미지 없이 풀어 준다
+            markReady(pendingMarkerId);
+            return;
+        }
+        Collections.sort(rawFiles);
+
+        StringBuilder imagePaths = new StringBuilder();
+        for (Path rawFile : rawFiles) {
+            try {
+                String hash = sha256(rawFile);
+                if (storeVariants(rawFile.toFile(), hash)) {
+                    imagePaths.append(MarkerImages.URL_PREFIX).append(MarkerImages.fileName(hash, "full")).append(",");
+                }
+            } catch (IOException e) {
+                log.error("🚨 이미지 저장 중 오류 발생: {}", rawFile, e);
+                failedImages.increment();
+            }
+        }
+
+        String finalPath = imagePaths.length() > 0 ? imagePaths.substring(0, imagePaths.length() - 1) : null;
+        if (markerMapper.updatePendingMarkerImage(pendingMarkerId, finalPath) == 0) {
+            // 처리 도중 요청이 거절된 경우
+            log.warn("🚨 이미지 처리 완료 시점에 등록 요청이 없음: {}", pendingMarkerId);
+        }
+
+        for (Path rawFile : rawFiles) {
+            rawFile.toFile().delete();
+        }
+        dir.toFile().delete();
+    }
+
+    // ✅ 한 번 디코딩해서 full → card → thumb 순으로 줄여가며 저장. 같은 해시가 이미 있으면 건너뜀
+    private boolean storeVariants(File source, String hash) throws IOException {
+        Path full = UPLOAD_PATH.resolve(MarkerImages.fileName(hash, "full"));
+        if (Files.exists(full)) {
+            reusedImages.increment();
+            return true;
+        }
+
+        // 원본 해상도 그대로 디코딩하지 않고 필요한 만큼만 건너뛰며 읽는다
+        BufferedImage originalImage = ImageCodec.readSubsampled(source, FULL_WIDTH, maxPixels);
+        if (originalImage == null) {
+            log.warn("🚨 이미지 포맷을 읽을 수 없거나 해상도가 너무 큽니다: {}", source.getName());
+            unreadableImages.increment();
+            return false;
+        }
+
+        Files.createDirectories(UPLOAD_PATH);
+        BufferedImage fullImage = ImageCodec.scaleDown(originalImage, FULL_WIDTH);
+        BufferedImage cardImage = ImageCodec.scaleDown(fullImage, CARD_WIDTH);
+        BufferedImage thumbImage = ImageCodec.scaleDown(cardImage, THUMB_WIDTH);
+
+        // full 을 마지막에 써서, full 파일이 있으면 모든 크기가 준비된 것으로 본다
+        writeJpeg(thumbImage, UPLOAD_PATH.resolve(MarkerImages.fileName(hash, "thumb")));
+        writeJpeg(cardImage, UPLOAD_PATH.resolve(MarkerImages.fileName(hash, "card")));
+        writeJpeg(fullImage, full);
+        storedImages.increment();
+        return true;
+    }
+
+    // 임시 파일에 쓴 뒤 이동 → 같은 이미지를 동시에 처리해도 반쯤 쓰인 파일이 노출되지 않음
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), ".tmp-", ".jpg");
+        try (FileImageOutputStream output = new FileImageOutputStream(temp.toFile())) {
+            ImageCodec.writeJpeg(image, output, JPEG_QUALITY);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
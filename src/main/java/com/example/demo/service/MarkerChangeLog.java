@@ -0,0 +1,120 @@
+package com.example.demo.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 승인된 마커 집합의 버전과 최근 변경 이력.
+ *
+ * 마커가 승인/삭제될 때마다 버전이 올라가고, 최근 capacity 건의 변경(추가/삭제된 id)을 메모리에 보관한다.
+ * 버전은 재시작 후에도 작아지지 않도록 현재 시각(ms)보다 작지 않게 잡는다.
+ */
+public class MarkerChangeLog {
+
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    private final int capacity;
+    private final Deque<Change> changes = new ArrayDeque<>();
+    // 이 버전 이후의 변경은 모두 보관되어 있다
+    private long oldestVersion;
+    private volatile long version;
+
+    public MarkerChangeLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MarkerChangeLog(int capacity) {
+        this.capacity = capacity;
+        this.version = System.currentTimeMillis();
+        this.oldestVersion = version;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public synchronized long added(int id) {
+        return append(id, true);
+    }
+
+    public synchronized long removed(int id) {
+        return append(id, false);
+    }
+
+    private long append(int id, boolean added) {
+        long next = Math.max(version + 1, System.currentTimeMillis());
+        changes.addLast(new Change(next, id, added));
+        if (changes.size() > capacity) {
+            oldestVersion = changes.removeFirst().version;
+        }
+        version = next;
+        return next;
+    }
+
+    /**
+     * since 이후의 변경. 같은 마커가 여러 번 바뀌었으면 마지막 상태만 남긴다.
+     * since 가 보관 범위보다 오래됐거나 현재 버전보다 크면 null (전체 목록을 다시 받아야 함).
+     */
+    public synchronized Delta since(long since) {
+        if (since < oldestVersion || since > version) {
+            return null;
+        }
+        Map<Integer, Boolean> latest = new LinkedHashMap<>();
+        Iterator<Change> it = changes.descendingIterator();
+        while (it.hasNext()) {
+            Change change = it.next();
+            if (change.version <= since) {
+                break;
+            }
+            latest.putIfAbsent(change.id, change.added);
+        }
+
+        List<Integer> added = new ArrayList<>();
+        List<Integer> removed = new ArrayList<>();
+        for (Map.Entry<Integer, Boolean> entry : latest.entrySet()) {
+            (entry.getValue() ? added : removed).add(entry.getKey());
+        }
+        return new Delta(version, added, removed);
+    }
+
+    private static final class Change {
+        final long version;
+        final int id;
+        final boolean added;
+
+        Change(long version, int id, boolean added) {
+            this.version = version;
+            this.id = id;
+            this.added = added;
+        }
+    }
+
+    public static final class Delta {
+        private final long version;
+        private final List<Integer> added;
+        private final List<Integer> removed;
+
+        Delta(long version, List<Integer> added, List<Integer> removed) {
+            this.version = version;
+            this.added = added;
+            this.removed = removed;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public List<Integer> getAdded() {
+            return added;
+        }
+
+        public List<Integer> getRemoved() {
+            return removed;
+        }
+    }
+}
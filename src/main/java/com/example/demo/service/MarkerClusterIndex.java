@@ -0,0 +1,293 @@
+package com.example.demo.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.example.demo.domain.MarkerPoint;
+
+/**
+ * 줌 레벨별로 미리 계산해 두는 마커 클러스터.
+ *
+ * 줌 z 에서는 화면 기준 CELL_PIXELS 크기의 격자 셀 하나가 클러스터 하나가 된다.
+ * 셀은 지도 타일과 같은 Web Mercator 픽셀 좌표로 나누므로, 위도가 높아져도 화면에서 같은 크기로 보인다
+ * (위도는 ±85.0511도로 제한, 행/열은 그 줌의 세계 지도 격자 안으로 자른다).
+ * 마커 추가/삭제 시 모든 줌 레벨의 해당 셀만 갱신하므로 전체 재계산이 필요 없다.
+ */
+public class MarkerClusterIndex {
+
+    public static final int MIN_ZOOM = 1;
+    public static final int MAX_ZOOM = 16;
+
+    // 클러스터 하나가 차지하는 화면 크기(px), 타일 한 장은 256px
+    private static final int CELL_PIXELS = 64;
+    private static final int TILE_PIXELS = 256;
+
+    // Web Mercator 가 표현하는 최대 위도
+    private static final double MAX_LATITUDE = 85.05112878;
+
+    private final List<Map<Long, Cluster>> levels = new ArrayList<>();
+    // 줌별 세계 지도 한 변의 셀 개수
+    private final double[] worldCells = new double[MAX_ZOOM + 1];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    public MarkerClusterIndex() {
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            levels.add(new HashMap<Long, Cluster>());
+            worldCells[zoom] = (double) (1L << zoom) * TILE_PIXELS / CELL_PIXELS;
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void load(List<MarkerPoint> markers) {
+        lock.writeLock().lock();
+        try {
+            for (Map<Long, Cluster> level : levels) {
+                level.clear();
+            }
+            for (MarkerPoint marker : markers) {
+                put(marker.getId(), marker.getLatitude(), marker.getLongitude());
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void add(int id, double latitude, double longitude) {
+        lock.writeLock().lock();
+        try {
+            put(id, latitude, longitude);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id, double latitude, double longitude) {
+        lock.writeLock().lock();
+        try {
+            for (int zoom = MIN_ZOOM; zoom <= MAX_ZOOM; zoom++) {
+                Map<Long, Cluster> level = levels.get(zoom);
+                long key = cellKey(zoom, latitude, longitude);
+                Cluster cluster = level.get(key);
+                if (cluster != null && cluster.remove(id) && cluster.size == 0) {
+                    level.remove(key);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 주어진 줌과 화면 영역에 걸치는 클러스터 목록
+    public List<ClusterView> findClusters(int zoom, double minLat, double maxLat, double minLon, double maxLon) {
+        int level = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom));
+        List<ClusterView> result = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Cluster> clusters = levels.get(level);
+            // Mercator y 는 북쪽이 0 이므로 maxLat 이 위쪽 행
+            long minRow = row(level, maxLat);
+            long maxRow = row(level, minLat);
+            long minCol = col(level, minLon);
+            long maxCol = col(level, maxLon);
+
+            // 화면이 채워진 셀 수보다 넓으면 (세계 전체 등) 채워진 셀만 훑는다
+            long rows = maxRow - minRow + 1;
+            long cols = maxCol - minCol + 1;
+            if (rows > clusters.size() || cols > clusters.size() || rows * cols > clusters.size()) {
+                for (Cluster cluster : clusters.values()) {
+                    if (cluster.intersects(minLat, maxLat, minLon, maxLon)) {
+                        result.add(cluster.view());
+                    }
+                }
+            } else {
+                for (long row = minRow; row <= maxRow; row++) {
+                    for (long col = minCol; col <= maxCol; col++) {
+                        Cluster cluster = clusters.get(cellKey(row, col));
+                        if (cluster != null && cluster.intersects(minLat, maxLat, minLon, maxLon)) {
+                            result.add(cluster.view());
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    private void put(int id, double latitude, double longitude) {
+        for (int zoom = MIN_ZOOM; zoom <= MAX_ZOOM; zoom++) {
+            Map<Long, Cluster> level = levels.get(zoom);
+            long key = cellKey(zoom, latitude, longitude);
+            Cluster cluster = level.get(key);
+            if (cluster == null) {
+                cluster = new Cluster();
+                level.put(key, cluster);
+            }
+            cluster.add(id, latitude, longitude);
+        }
+    }
+
+    private long cellKey(int zoom, double latitude, double longitude) {
+        return cellKey(row(zoom, latitude), col(zoom, longitude));
+    }
+
+    // 위도 → Mercator y (0: 북쪽 끝, 1: 남쪽 끝) → 셀 행
+    private long row(int zoom, double latitude) {
+        double lat = Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude)));
+        double y = (1 - Math.log(Math.tan(lat) + 1 / Math.cos(lat)) / Math.PI) / 2;
+        return clampCell(zoom, (long) Math.floor(y * worldCells[zoom]));
+    }
+
+    private long col(int zoom, double longitude) {
+        return clampCell(zoom, (long) Math.floor((longitude + 180) / 360 * worldCells[zoom]));
+    }
+
+    private long clampCell(int zoom, long cell) {
+        return Math.max(0, Math.min((long) worldCells[zoom] - 1, cell));
+    }
+
+    private static long cellKey(long row, long col) {
+        return (row << 32) | (col & 0xffffffffL);
+    }
+
+    private static final class Cluster {
+        private int[] ids = new int[2];
+        private double[] lats = new double[2];
+        private double[] lons = new double[2];
+        private int size;
+        private double sumLat;
+        private double sumLon;
+        private double minLat = Double.POSITIVE_INFINITY;
+        private double maxLat = Double.NEGATIVE_INFINITY;
+        private double minLon = Double.POSITIVE_INFINITY;
+        private double maxLon = Double.NEGATIVE_INFINITY;
+
+        void add(int id, double lat, double lon) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                lats = Arrays.copyOf(lats, capacity);
+                lons = Arrays.copyOf(lons, capacity);
+            }
+            ids[size] = id;
+            lats[size] = lat;
+            lons[size] = lon;
+            size++;
+            sumLat += lat;
+            sumLon += lon;
+            minLat = Math.min(minLat, lat);
+            maxLat = Math.max(maxLat, lat);
+            minLon = Math.min(minLon, lon);
+            maxLon = Math.max(maxLon, lon);
+        }
+
+        boolean remove(int id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    sumLat -= lats[i];
+                    sumLon -= lons[i];
+                    size--;
+                    ids[i] = ids[size];
+                    lats[i] = lats[size];
+                    lons[i] = lons[size];
+                    recomputeBounds();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // 삭제 시에는 경계 상자가 줄어들 수 있으므로 셀 안의 마커로 다시 계산
+        private void recomputeBounds() {
+            minLat = Double.POSITIVE_INFINITY;
+            maxLat = Double.NEGATIVE_INFINITY;
+            minLon = Double.POSITIVE_INFINITY;
+            maxLon = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < size; i++) {
+                minLat = Math.min(minLat, lats[i]);
+                maxLat = Math.max(maxLat, lats[i]);
+                minLon = Math.min(minLon, lons[i]);
+                maxLon = Math.max(maxLon, lons[i]);
+            }
+        }
+
+        boolean intersects(double qMinLat, double qMaxLat, double qMinLon, double qMaxLon) {
+            return minLat <= qMaxLat && maxLat >= qMinLat && minLon <= qMaxLon && maxLon >= qMinLon;
+        }
+
+        ClusterView view() {
+            return new ClusterView(sumLat / size, sumLon / size, size,
+                    minLat, maxLat, minLon, maxLon, size == 1 ? Integer.valueOf(ids[0]) : null);
+        }
+    }
+
+    /**
+     * 응답으로 내려가는 클러스터 스냅샷. 마커가 하나뿐이면 markerId 가 채워진다.
+     */
+    public static final class ClusterView {
+        private final double latitude;
+        private final double longitude;
+        private final int count;
+        private final double minLat;
+        private final double maxLat;
+        private final double minLon;
+        private final double maxLon;
+        private final Integer markerId;
+
+        ClusterView(double latitude, double longitude, int count,
+                    double minLat, double maxLat, double minLon, double maxLon, Integer markerId) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.count = count;
+            this.minLat = minLat;
+            this.maxLat = maxLat;
+            this.minLon = minLon;
+            this.maxLon = maxLon;
+            this.markerId = markerId;
+        }
+
+        public double getLatitude() {
+            return latitude;
+        }
+
+        public double getLongitude() {
+            return longitude;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public double getMinLat() {
+            return minLat;
+        }
+
+        public double getMaxLat() {
+            return maxLat;
+        }
+
+        public double getMinLon() {
+            return minLon;
+        }
+
+        public double getMaxLon() {
+            return maxLon;
+        }
+
+        public Integer getMarkerId() {
+            return markerId;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.demo.service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.example.demo.domain.Marker;
+import com.example.demo.mapper.MarkerMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 승인된 마커 전체 내보내기 (NDJSON / GeoJSON).
+ *
+ * id 순으로 CHUNK_SIZE 개씩 끊어 읽고(keyset) 바로 응답 스트림에 쓰므로
+ * 마커 수와 관계없이 메모리 사용량이 일정하다.
+ * 조각마다 커넥션을 바로 반납하므로, 느린 클라이언트에 쓰는 동안에는 커넥션/트랜잭션을 잡고 있지 않다
+ * (그 대신 내보내는 도중 승인/삭제된 마커는 위치에 따라 포함될 수도, 빠질 수도 있다).
+ */
+@Service
+public class MarkerExportService {
+
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final String FORMAT_GEOJSON = "geojson";
+
+    // 한 번에 읽는 마커 수 (조각마다 응답 버퍼를 내보낸다)
+    private static final int CHUNK_SIZE = 500;
+
+    private final MarkerMapper markerMapper;
+    private final ObjectMapper objectMapper;
+
+    public MarkerExportService(MarkerMapper markerMapper, ObjectMapper objectMapper) {
+        this.markerMapper = markerMapper;
+        this.objectMapper = objectMapper;
+    }
+
+    public static boolean isSupportedFormat(String format) {
+        return FORMAT_NDJSON.equals(format) || FORMAT_GEOJSON.equals(format);
+    }
+
+    public void export(String format, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        boolean geoJson = FORMAT_GEOJSON.equals(format);
+        try {
+            if (geoJson) {
+                generator.writeStartObject();
+                generator.writeStringField("type", "FeatureCollection");
+                generator.writeArrayFieldStart("features");
+            }
+
+            Integer afterId = null;
+            List<Marker> chunk;
+            do {
+                // 내보내기 시간 초과로 작업이 취소된 경우
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("마커 내보내기가 중단되었습니다.");
+                }
+                chunk = markerMapper.getMarkersAfter(afterId, CHUNK_SIZE);
+                for (Marker marker : chunk) {
+                    if (geoJson) {
+                        writeFeature(generator, marker);
+                    } else {
+                        writeMarker(generator, marker);
+                        generator.writeRaw('\n');
+                    }
+                }
+                generator.flush();
+                if (!chunk.isEmpty()) {
+                    afterId = chunk.get(chunk.size() - 1).getId();
+                }
+            } while (chunk.size() == CHUNK_SIZE);
+
+            if (geoJson) {
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+        } finally {
+            generator.close();
+        }
+    }
+
+    private void writeMarker(JsonGenerator generator, Marker marker) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", marker.getId());
+        generator.writeNumberField("latitude", marker.getLatitude());
+        generator.writeNumberField("longitude", marker.getLongitude());
+        writeProperties(generator, marker);
+        generator.writeEndObject();
+    }
+
+    private void writeFeature(JsonGenerator generator, Marker marker) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", "Feature");
+        generator.writeNumberField("id", marker.getId());
+        generator.writeObjectFieldStart("geometry");
+        generator.writeStringField("type", "Point");
+        // GeoJSON 좌표 순서는 [경도, 위도]
+        generator.writeArrayFieldStart("coordinates");
+        generator.writeNumber(marker.getLongitude());
+        generator.writeNumber(marker.getLatitude());
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeObjectFieldStart("properties");
+        writeProperties(generator, marker);
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private void writeProperties(JsonGenerator generator, Marker marker) throws IOException {
+        generator.writeStringField("title", marker.getTitle());
+        generator.writeArrayFieldStart("images");
+        for (String url : marker.getImages()) {
+            generator.writeString(url);
+        }
+        generator.writeEndArray();
+        generator.writeObjectField("created_at", marker.getCreatedAt());
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import com.example.demo.domain.MarkerPoint;
+
+/**
+ * 지도용 마커 목록의 압축 바이너리 인코딩 (application/x-marker-points).
+ *
+ * <pre>
+ * frame   = "MKP" version(1B) payloadLength(uint32 BE) payload
+ * payload = count(varint) marker*
+ * marker  = Δid(zigzag varint) Δlat(zigzag varint) Δlon(zigzag varint) titleLength(varint) title(UTF-8)
+ * </pre>
+ *
+ * 좌표는 1e-6 도 단위 정수(약 0.1m)로 바꾸고 위도 순으로 정렬한 뒤 앞 마커와의 차이만 기록한다.
+ * 인접한 마커끼리는 차이가 작아 대부분 1~3 바이트에 들어간다.
+ */
+public final class MarkerPointEncoder {
+
+    public static final String MEDIA_TYPE = "application/x-marker-points";
+    public static final int VERSION = 1;
+
+    private static final double SCALE = 1_000_000d;
+
+    private MarkerPointEncoder() {
+    }
+
+    public static byte[] encode(List<MarkerPoint> markers) {
+        List<MarkerPoint> sorted = new ArrayList<>(markers);
+        sorted.sort(Comparator.comparingDouble(MarkerPoint::getLatitude).thenComparingInt(MarkerPoint::getId));
+
+        // 마커 하나당 평균 15바이트 안팎 (이름 포함)
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(16 + sorted.size() * 16);
+        writeVarint(payload, sorted.size());
+
+        long prevId = 0;
+        long prevLat = 0;
+        long prevLon = 0;
+        for (MarkerPoint marker : sorted) {
+            long lat = Math.round(marker.getLatitude() * SCALE);
+            long lon = Math.round(marker.getLongitude() * SCALE);
+            writeVarint(payload, zigzag(marker.getId() - prevId));
+            writeVarint(payload, zigzag(lat - prevLat));
+            writeVarint(payload, zigzag(lon - prevLon));
+            prevId = marker.getId();
+            prevLat = lat;
+            prevLon = lon;
+
+            if (marker.getTitle() == null) {
+                writeVarint(payload, 0);
+            } else {
+                byte[] title = marker.getTitle().getBytes(StandardCharsets.UTF_8);
+                writeVarint(payload, title.length);
+                payload.write(title, 0, title.length);
+            }
+        }
+
+        int length = payload.size();
+        ByteArrayOutputStream frame = new ByteArrayOutputStream(8 + length);
+        frame.write('M');
+        frame.write('K');
+        frame.write('P');
+        frame.write(VERSION);
+        frame.write(length >>> 24);
+        frame.write(length >>> 16);
+        frame.write(length >>> 8);
+        frame.write(length);
+        frame.write(payload.toByteArray(), 0, length);
+        return frame.toByteArray();
+    }
+
+    // 음수 차이도 작은 양수가 되도록 (0, -1, 1, -2 … → 0, 1, 2, 3 …)
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
@@ -1,214 +1,454 @@
 package com.example.demo.service;
 
-import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 
-import javax.imageio.IIOImage;
-import javax.imageio.ImageIO;
-import javax.imageio.ImageWriteParam;
-import javax.imageio.ImageWriter;
-import javax.imageio.stream.FileImageOutputStream;
+import javax.annotation.PostConstruct;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.example.demo.config.ReplicaRoutingDataSource;
+import com.example.demo.domain.ApprovedMarker;
+import com.example.demo.domain.Marker;
+import com.example.demo.domain.MarkerPoint;
+import com.example.demo.domain.PendingMarker;
 import com.example.demo.mapper.MarkerMapper;
+import com.github.benmanes.caffeine.cache.Cache;
 
 @Service
 public class MarkerService {
 
-    private final MarkerMapper markerMapper;
-
-    private static final double EARTH_RADIUS = 6371000;
+    private static final Logger log = LoggerFactory.getLogger(MarkerService.class);
 
-    public MarkerService(RestTemplate restTemplate, MarkerMapper markerMapper) {
+    private final MarkerMapper markerMapper;
+    private final ImageProcessingService imageProcessingService;
+    private final CommentService commentService;
+    private final Cache<Integer, Marker> markerDetailCache;
+    private final TransactionTemplate transactionTemplate;
+    private final MarkerSpatialIndex spatialIndex = new MarkerSpatialIndex();
+    private final MarkerClusterIndex clusterIndex = new MarkerClusterIndex();
+    private final MarkerChangeLog changeLog = new MarkerChangeLog();
+
+    // 마지막으로 조회한 전체 목록과 그 시점의 버전 (버전이 같으면 DB 조회 없이 재사용)
+    private volatile MarkersSnapshot markersSnapshot;
+
+    // 중복 등록을 막는 반경(m)
+    private static final double DUPLICATE_RADIUS_METERS = 500;
+    private static final String DUPLICATE_MESSAGE = "500m 범위 이내에 등록된 농구장이 있습니다.";
+
+    // 중복 검사 잠금 단위 (위도 방향 약 1.1km 격자)
+    private static final double LOCK_CELL_DEGREES = 0.01;
+    // 한 요청이 셀 단위로 잠그는 최대 셀 수 (넘으면 극지방처럼 경도 범위가 넓은 경우라 행 단위로 잠근다)
+    private static final int MAX_LOCK_CELLS = 16;
+    // 행 잠금 키의 열 자리 (셀의 열 번호는 ±18000 이내라 겹치지 않는다)
+    private static final long ROW_LOCK_COL = Integer.MIN_VALUE & 0xFFFFFFFFL;
+
+    // 인덱스 적재 실패 후 다시 시도하기까지의 최소 간격
+    private static final long INDEX_RETRY_INTERVAL_MS = 10_000;
+    private long lastIndexLoadAttempt;
+
+    // 일괄 승인/거절 한 번에 받는 최대 요청 수
+    private static final int MAX_BULK_IDS = 1000;
+
+    // 화면 영역 조회 한 페이지의 기본/최대 마커 수
+    private static final int DEFAULT_BOUNDS_PAGE_SIZE = 200;
+    private static final int MAX_BOUNDS_PAGE_SIZE = 500;
+
+    // 이 줌 레벨 미만에서는 마커 이름(title)을 내려주지 않는다
+    private static final int TITLE_MIN_ZOOM = 10;
+
+    public MarkerService(RestTemplate restTemplate, MarkerMapper markerMapper,
+                         ImageProcessingService imageProcessingService, CommentService commentService,
+                         Cache<Integer, Marker> markerDetailCache, PlatformTransactionManager transactionManager) {
         this.markerMapper = markerMapper;
+        this.imageProcessingService = imageProcessingService;
+        this.commentService = commentService;
+        this.markerDetailCache = markerDetailCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    private double degreesToRadians(double degrees) {
-        return degrees * (Math.PI / 180);
+    // ✅ 시작 시 승인된 마커를 공간 인덱스와 클러스터 인덱스에 적재
+    @PostConstruct
+    public void warmUpSpatialIndex() {
+        loadIndexes();
     }
 
-    private double metersToLatitudeDegrees(double meters) {
-        return (meters / EARTH_RADIUS) * (180 / Math.PI);
+    // 적재에 실패했으면 조회 시점에 다시 시도 (INDEX_RETRY_INTERVAL_MS 에 한 번)
+    private void ensureIndexesLoaded() {
+        if (spatialIndex.isReady() && clusterIndex.isReady()) {
+            return;
+        }
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            if ((spatialIndex.isReady() && clusterIndex.isReady()) || now - lastIndexLoadAttempt < INDEX_RETRY_INTERVAL_MS) {
+                return;
+            }
+            loadIndexes();
+        }
     }
 
-    private double metersToLongitudeDegrees(double meters, double latitude) {
-        return (meters / (EARTH_RADIUS * Math.cos(degreesToRadians(latitude)))) * (180 / Math.PI);
+    private synchronized void loadIndexes() {
+        lastIndexLoadAttempt = System.currentTimeMillis();
+        try {
+            // 적재 중에 승인/삭제가 있었으면 다시 읽는다 (그 사이의 add/remove 는 load 가 덮어쓰므로)
+            for (int attempt = 0; attempt < 3; attempt++) {
+                long version = changeLog.version();
+                // 승인/삭제 직후 다시 적재할 수 있으므로 primary 에서 읽는다
+                List<MarkerPoint> entries = ReplicaRoutingDataSource.usePrimary(markerMapper::getMarkerPoints);
+                spatialIndex.load(entries);
+                clusterIndex.load(entries);
+                log.info("📍 공간 인덱스 적재 완료: {}개", entries.size());
+                if (changeLog.version() == version) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            // 인덱스가 준비되지 않으면 조회는 DB로 처리된다
+            log.error("🚨 공간 인덱스 적재 실패", e);
+        }
     }
 
     public void requestMarker(String title, double latitude, double longitude, List<MultipartFile> images) {
-        double latRange = metersToLatitudeDegrees(500);
-        double lonRange = metersToLongitudeDegrees(500, latitude);
-
-        BigDecimal minLat = BigDecimal.valueOf(latitude - latRange).setScale(6, RoundingMode.HALF_UP);
-        BigDecimal maxLat = BigDecimal.valueOf(latitude + latRange).setScale(6, RoundingMode.HALF_UP);
-        BigDecimal minLon = BigDecimal.valueOf(longitude - lonRange).setScale(6, RoundingMode.HALF_UP);
-        BigDecimal maxLon = BigDecimal.valueOf(longitude + lonRange).setScale(6, RoundingMode.HALF_UP);
-
-        List<Map<String, Object>> nearbyMarkers = markerMapper.findMarkersWithinRadius(minLat, maxLat, minLon, maxLon);
-
-        for (Map<String, Object> marker : nearbyMarkers) {
-            double existingLat = ((Double) marker.get("latitude"));
-            double existingLon = ((Double) marker.get("longitude"));
-            double distance = calculateDistance(latitude, longitude, existingLat, existingLon);
-            if (distance < 500) {
-                throw new IllegalArgumentException("500m 범위 이내에 등록된 농구장이 있습니다.");
+        int pendingMarkerId = createPendingMarker(title, latitude, longitude);
+
+        // 커밋 후에 처리를 맡겨야 작업 스레드가 이미지 경로를 갱신할 행이 보인다
+        boolean submitted = false;
+        if (images != null && !images.isEmpty()) {
+            try {
+                if (imageProcessingService.saveRawImages(pendingMarkerId, images)) {
+                    imageProcessingService.submit(pendingMarkerId);
+                    submitted = true;
+                }
+            } catch (IOException e) {
+                cancelPendingMarker(pendingMarkerId);
+                throw new IllegalStateException("이미지 저장 중 오류 발생: " + e.getMessage(), e);
+            } catch (IllegalArgumentException e) {
+                cancelPendingMarker(pendingMarkerId);
+                throw e;
             }
         }
+        if (!submitted) {
+            imageProcessingService.markReady(pendingMarkerId);
+        }
+    }
+
+    // ✅ 중복 검사 후 등록 요청 행만 저장 (이미지는 호출하는 쪽에서 저장). 새 요청 id 반환
+    // 행은 처리 중(processing)으로 만들어지며, 호출하는 쪽이 submit 또는 markReady 로 풀어야 승인할 수 있다
+    public int createPendingMarker(String title, double latitude, double longitude) {
+        if (!GeoUtils.isValidCoordinate(latitude, longitude)) {
+            throw new IllegalArgumentException("잘못된 좌표입니다.");
+        }
+        // 승인된 마커와 겹치면 DB 까지 가지 않고 메모리 인덱스에서 바로 거절
+        if (spatialIndex.isReady() && spatialIndex.existsWithin(latitude, longitude, DUPLICATE_RADIUS_METERS)) {
+            throw new IllegalArgumentException(DUPLICATE_MESSAGE);
+        }
 
         Map<String, Object> markerData = new HashMap<>();
         markerData.put("title", title);
         markerData.put("latitude", latitude);
         markerData.put("longitude", longitude);
         markerData.put("approved", false);
-
-        if (images != null && !images.isEmpty()) {
-            String uploadDir = "uploads/";
-            Path uploadPath = Paths.get(uploadDir);
-
-            if (!Files.exists(uploadPath)) {
-                try {
-                    Files.createDirectories(uploadPath);
-                    System.out.println("📁 uploads 폴더 생성됨: " + uploadPath.toAbsolutePath());
-                } catch (IOException e) {
-                    System.err.println("🚨 uploads 폴더 생성 실패: " + e.getMessage());
-                    return;
-                }
+        // 이미지 경로는 비동기 처리가 끝난 뒤 채워진다 (그 전까지는 승인 불가)
+        markerData.put("image", null);
+
+        // 주변 격자 셀을 잠근 채로 검사 + 저장 → 가까운 위치의 동시 요청은 한 건씩 처리되어 둘 다 통과할 수 없다
+        transactionTemplate.executeWithoutResult(status -> {
+            lockNearbyCells(latitude, longitude);
+            if (hasNearbyMarker(latitude, longitude)) {
+                throw new IllegalArgumentException(DUPLICATE_MESSAGE);
             }
+            markerMapper.insertPendingMarker(markerData);
+        });
+        log.debug("✅ 마커 요청 저장 완료: {}", markerData);
+        return ((Number) markerData.get("id")).intValue();
+    }
 
-            StringBuilder imagePaths = new StringBuilder();
-
-            for (MultipartFile image : images) {
-                String originalFilename = image.getOriginalFilename();
-                if (originalFilename == null || originalFilename.trim().isEmpty()) {
-                    System.err.println("🚨 파일 이름이 비어 있음");
-                    continue;
-                }
+    // ✅ 이미지 저장에 실패한 등록 요청을 행과 원본 파일까지 지움
+    public void cancelPendingMarker(int pendingMarkerId) {
+        markerMapper.deletePendingMarker(pendingMarkerId);
+        imageProcessingService.discardRawImages(pendingMarkerId);
+    }
 
-                try {
-                    String fileName = System.currentTimeMillis() + "_" + originalFilename;
-                    Path filePath = uploadPath.resolve(fileName);
+    // 승인된 마커와 승인 대기 요청 모두 확인 (DB 인덱스 + 거리 계산)
+    private boolean hasNearbyMarker(double latitude, double longitude) {
+        double[] box = GeoUtils.boundingBox(latitude, longitude, DUPLICATE_RADIUS_METERS);
+        return markerMapper.existsMarkerNearby(latitude, longitude, DUPLICATE_RADIUS_METERS,
+                box[0], box[1], box[2], box[3]);
+    }
 
-                    BufferedImage originalImage = ImageIO.read(image.getInputStream());
-                    if (originalImage == null) {
-                        System.err.println("🚨 이미지 포맷을 읽을 수 없습니다: " + originalFilename);
-                        continue;
-                    }
+    // 검사 반경이 걸치는 격자 셀을 항상 같은 순서(행 잠금 → 그 행의 셀 → 다음 행)로 잠가 교착 상태를 피한다
+    // 셀 단위 요청은 행을 공유 잠금, 셀이 MAX_LOCK_CELLS 를 넘는 요청은 행을 배타 잠금 → 두 방식이 섞여도 서로 막힌다
+    private void lockNearbyCells(double latitude, double longitude) {
+        double[] box = GeoUtils.boundingBox(latitude, longitude, DUPLICATE_RADIUS_METERS);
+        long minRow = lockCellIndex(Math.max(-90, box[0]));
+        long maxRow = lockCellIndex(Math.min(90, box[1]));
+        long minCol = lockCellIndex(Math.max(-180, box[2]));
+        long maxCol = lockCellIndex(Math.min(180, box[3]));
+        boolean rowOnly = (maxRow - minRow + 1) * (maxCol - minCol + 1) > MAX_LOCK_CELLS;
+        for (long row = minRow; row <= maxRow; row++) {
+            long rowKey = (row << 32) | ROW_LOCK_COL;
+            if (rowOnly) {
+                markerMapper.lockGridCell(rowKey);
+                continue;
+            }
+            markerMapper.lockGridCellShared(rowKey);
+            for (long col = minCol; col <= maxCol; col++) {
+                markerMapper.lockGridCell((row << 32) | (col & 0xFFFFFFFFL));
+            }
+        }
+    }
 
-                    BufferedImage imageToSave = (originalImage.getWidth() > 800)
-                            ? resizeImage(originalImage, 800)
-                            : originalImage;
+    private static long lockCellIndex(double degrees) {
+        return (long) Math.floor(degrees / LOCK_CELL_DEGREES);
+    }
 
-                    ImageWriter jpgWriter = ImageIO.getImageWritersByFormatName("jpg").next();
-                    ImageWriteParam jpgWriteParam = jpgWriter.getDefaultWriteParam();
-                    jpgWriteParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
-                    jpgWriteParam.setCompressionQuality(0.75f);
+    public List<PendingMarker> getPendingMarkers() {
+        return markerMapper.getPendingMarkers();
+    }
 
-                    try (FileImageOutputStream output = new FileImageOutputStream(filePath.toFile())) {
-                        jpgWriter.setOutput(output);
-                        jpgWriter.write(null, new IIOImage(imageToSave, null, null), jpgWriteParam);
-                        jpgWriter.dispose();
-                    }
+    public void approveMarker(int id) {
+        Map<String, Object> result = approveMarkers(Collections.singletonList(id)).get(0);
+        if ("processing".equals(result.get("status"))) {
+            throw new IllegalStateException("이미지 처리가 아직 끝나지 않았습니다.");
+        }
+    }
 
-                    imagePaths.append("/uploads/").append(fileName).append(",");
-                    System.out.println("📌 저장된 이미지: " + filePath.toAbsolutePath());
+    // ✅ 일괄 승인 (문장 하나로 이동). 요청 id 마다 approved / processing(이미지 처리 중) / not_found 결과
+    public List<Map<String, Object>> approveMarkers(List<Integer> ids) {
+        List<Integer> targets = distinctIds(ids);
+        Map<Integer, MarkerPoint> approved = new HashMap<>();
+        for (ApprovedMarker row : markerMapper.approvePendingMarkers(targets)) {
+            MarkerPoint entry = row.getMarker();
+            approved.put(row.getPendingId(), entry);
+            markerDetailCache.invalidate(entry.getId());
+            spatialIndex.add(entry);
+            clusterIndex.add(entry.getId(), entry.getLatitude(), entry.getLongitude());
+            changeLog.added(entry.getId());
+        }
 
-                } catch (IOException e) {
-                    System.err.println("🚨 이미지 저장 중 오류 발생: " + e.getMessage());
+        Set<Integer> processing = Collections.emptySet();
+        if (approved.size() < targets.size()) {
+            List<Integer> missing = new ArrayList<>();
+            for (Integer id : targets) {
+                if (!approved.containsKey(id)) {
+                    missing.add(id);
                 }
             }
+            processing = new HashSet<>(markerMapper.getProcessingPendingMarkerIds(missing));
+        }
 
-            String finalPath = imagePaths.length() > 0 ? imagePaths.substring(0, imagePaths.length() - 1) : null;
-            System.out.println("📥 DB에 저장될 이미지 경로: " + finalPath);
-            markerData.put("image", finalPath);
-        } else {
-            markerData.put("image", null);
+        List<Map<String, Object>> results = new ArrayList<>(targets.size());
+        for (Integer id : targets) {
+            MarkerPoint entry = approved.get(id);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("id", id);
+            result.put("status", entry != null ? "approved" : processing.contains(id) ? "processing" : "not_found");
+            if (entry != null) {
+                result.put("markerId", entry.getId());
+            }
+            results.add(result);
         }
+        return results;
+    }
 
-        markerMapper.insertPendingMarker(markerData);
-        System.out.println("✅ 마커 요청 저장 완료: " + markerData);
+    // ✅ 일괄 거절. 요청 id 마다 rejected / not_found 결과
+    public List<Map<String, Object>> rejectMarkers(List<Integer> ids) {
+        List<Integer> targets = distinctIds(ids);
+        Set<Integer> deleted = new HashSet<>(markerMapper.deletePendingMarkers(targets));
+
+        List<Map<String, Object>> results = new ArrayList<>(targets.size());
+        for (Integer id : targets) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("id", id);
+            result.put("status", deleted.contains(id) ? "rejected" : "not_found");
+            results.add(result);
+        }
+        return results;
     }
 
-    private BufferedImage resizeImage(BufferedImage originalImage, int targetWidth) {
-        int width = originalImage.getWidth();
-        int height = originalImage.getHeight();
+    private List<Integer> distinctIds(List<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("처리할 요청 id 가 없습니다.");
+        }
+        Set<Integer> distinct = new LinkedHashSet<>();
+        for (Integer id : ids) {
+            if (id != null) {
+                distinct.add(id);
+            }
+        }
+        if (distinct.isEmpty()) {
+            throw new IllegalArgumentException("처리할 요청 id 가 없습니다.");
+        }
+        if (distinct.size() > MAX_BULK_IDS) {
+            throw new IllegalArgumentException("한 번에 최대 " + MAX_BULK_IDS + "건까지 처리할 수 있습니다.");
+        }
+        return new ArrayList<>(distinct);
+    }
 
-        double ratio = (double) targetWidth / width;
-        int newHeight = (int) (height * ratio);
+    public void deleteMarker(int id) {
+        // 없는 id 면 버전을 올리지 않는다 (ETag 가 바뀌어 모든 클라이언트가 다시 받는 일이 없도록)
+        if (markerMapper.deleteMarker(id) == 0) {
+            return;
+        }
+        markerDetailCache.invalidate(id);
+        commentService.evictComments(id);
+        MarkerPoint entry = spatialIndex.get(id);
+        if (entry != null) {
+            spatialIndex.remove(id);
+            clusterIndex.remove(id, entry.getLatitude(), entry.getLongitude());
+        }
+        changeLog.removed(id);
+    }
 
-        BufferedImage resized = new BufferedImage(targetWidth, newHeight, BufferedImage.TYPE_INT_RGB);
-        Graphics2D g = resized.createGraphics();
-        g.drawImage(originalImage, 0, 0, targetWidth, newHeight, null);
-        g.dispose();
-        return resized;
+    // 승인된 마커 집합의 버전 (승인/삭제 때마다 증가)
+    public long getMarkersVersion() {
+        return changeLog.version();
     }
 
-    private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return EARTH_RADIUS * c;
+    public List<Marker> getMarkers() {
+        // 조회 전에 버전을 읽어 둔다 → 조회 중에 바뀌면 다음 요청에서 다시 조회
+        long version = changeLog.version();
+        MarkersSnapshot snapshot = markersSnapshot;
+        if (snapshot != null && snapshot.version == version) {
+            return snapshot.markers;
+        }
+        // 버전에 묶어 두는 스냅샷이므로 replica 의 지난 값이 들어가지 않도록 primary 에서 읽는다
+        List<Marker> markers = Collections.unmodifiableList(ReplicaRoutingDataSource.usePrimary(markerMapper::getMarkers));
+        markersSnapshot = new MarkersSnapshot(version, markers);
+        return markers;
     }
 
-    public List<Map<String, Object>> getPendingMarkers() {
-        return markerMapper.getPendingMarkers();
+    // ✅ since 버전 이후 추가/삭제된 마커. 이력이 남아 있지 않으면 null
+    public Map<String, Object> getMarkerChanges(long since) {
+        MarkerChangeLog.Delta delta = changeLog.since(since);
+        if (delta == null) {
+            return null;
+        }
+        // 캐시에 없는 마커만 한 번에 조회 (추가된 마커마다 쿼리하지 않음)
+        Map<Integer, Marker> markers = delta.getAdded().isEmpty()
+                ? Collections.<Integer, Marker>emptyMap()
+                : markerDetailCache.getAll(delta.getAdded(), this::loadMarkers);
+        List<Marker> added = new ArrayList<>(delta.getAdded().size());
+        for (int id : delta.getAdded()) {
+            Marker marker = markers.get(id);
+            if (marker != null) {
+                added.add(marker);
+            }
+        }
+
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("version", delta.getVersion());
+        changes.put("added", added);
+        changes.put("removed", delta.getRemoved());
+        return changes;
     }
 
-    public void approveMarker(int id) {
-        Map<String, Object> marker = markerMapper.getPendingMarkerById(id);
-        if (marker != null) {
-            markerMapper.insertMarker(marker);
-            markerMapper.deletePendingMarker(id);
+    // 지도 표시용 id/좌표/이름만 (인덱스가 준비되어 있으면 DB 조회 없음)
+    public List<MarkerPoint> getMarkerPoints() {
+        ensureIndexesLoaded();
+        if (spatialIndex.isReady()) {
+            return spatialIndex.snapshot();
         }
+        return markerMapper.getMarkerPoints();
     }
 
-    public void deleteMarker(int id) {
-        markerMapper.deleteMarker(id);
-    }
-
-    public List<Map<String, Object>> getMarkers() {
-        List<Map<String, Object>> markers = markerMapper.getMarkers();
-        for (Map<String, Object> marker : markers) {
-            if (marker.get("image") != null) {
-                List<String> imagePaths = Arrays.asList(marker.get("image").toString().split(","));
-                List<String> fullUrls = imagePaths.stream()
-                        .map(img -> "/uploads/" + img.trim())
-                        .collect(Collectors.toList());
-                marker.put("images", fullUrls);
+    public Map<String, Object> getMarkersInBounds(double minLat, double maxLat, double minLon, double maxLon,
+                                                  int zoom, Integer cursor, Integer size) {
+        validateBounds(minLat, maxLat, minLon, maxLon);
+
+        int limit = (size == null || size <= 0) ? DEFAULT_BOUNDS_PAGE_SIZE : Math.min(size, MAX_BOUNDS_PAGE_SIZE);
+
+        boolean withTitle = zoom >= TITLE_MIN_ZOOM;
+        ensureIndexesLoaded();
+
+        // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+        List<MarkerPoint> rows;
+        if (spatialIndex.isReady()) {
+            rows = new ArrayList<>();
+            for (MarkerPoint entry : spatialIndex.findInBounds(minLat, maxLat, minLon, maxLon, cursor, limit + 1)) {
+                rows.add(withTitle ? entry : entry.withoutTitle());
             }
+        } else {
+            rows = markerMapper.findMarkersInBounds(minLat, maxLat, minLon, maxLon, cursor, limit + 1, withTitle);
+        }
+
+        Integer nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            nextCursor = rows.get(limit - 1).getId();
+        }
+
+        Map<String, Object> page = new HashMap<>();
+        page.put("markers", rows);
+        page.put("nextCursor", nextCursor);
+        return page;
+    }
+
+    public List<MarkerClusterIndex.ClusterView> getClusters(int zoom, double minLat, double maxLat,
+                                                            double minLon, double maxLon) {
+        validateBounds(minLat, maxLat, minLon, maxLon);
+        ensureIndexesLoaded();
+        if (!clusterIndex.isReady()) {
+            throw new IllegalStateException("클러스터 인덱스가 아직 준비되지 않았습니다.");
+        }
+        return clusterIndex.findClusters(zoom, minLat, maxLat, minLon, maxLon);
+    }
+
+    private static void validateBounds(double minLat, double maxLat, double minLon, double maxLon) {
+        if (!GeoUtils.isValidCoordinate(minLat, minLon) || !GeoUtils.isValidCoordinate(maxLat, maxLon)
+                || minLat > maxLat || minLon > maxLon) {
+            throw new IllegalArgumentException("잘못된 지도 영역입니다.");
         }
-        return markers;
     }
 
-    public Map<String, Object> getMarkerById(int id) {
-        Map<String, Object> marker = markerMapper.getMarkerById(id);
-        if (marker != null && marker.get("image") != null) {
-            List<String> imagePaths = Arrays.asList(marker.get("image").toString().split(","));
-            List<String> fullUrls = imagePaths.stream()
-                    .map(img -> "/uploads/" + img.trim())
-                    .collect(Collectors.toList());
-            marker.put("images", fullUrls);
+    // 상세 캐시 일괄 적재용 (IN 목록은 MAX_BULK_IDS 개씩)
+    private Map<Integer, Marker> loadMarkers(Iterable<? extends Integer> ids) {
+        List<Integer> targets = new ArrayList<>();
+        for (Integer id : ids) {
+            targets.add(id);
         }
-        return marker;
+        Map<Integer, Marker> loaded = new HashMap<>();
+        for (int from = 0; from < targets.size(); from += MAX_BULK_IDS) {
+            List<Integer> chunk = targets.subList(from, Math.min(targets.size(), from + MAX_BULK_IDS));
+            // 방금 승인된 마커를 읽는 경우가 많으므로 primary 에서 읽는다
+            for (Marker marker : ReplicaRoutingDataSource.usePrimary(() -> markerMapper.getMarkersByIds(chunk))) {
+                loaded.put(marker.getId(), marker);
+            }
+        }
+        return loaded;
+    }
+
+    public Marker getMarkerById(int id) {
+        // 없는 마커(null)는 캐시되지 않는다
+        // 캐시에 TTL 동안 남으므로 primary 에서 읽는다 (무효화 직후 replica 의 지난 값이 들어가지 않도록)
+        return markerDetailCache.get(id, key -> ReplicaRoutingDataSource.usePrimary(() -> markerMapper.getMarkerById(key)));
     }
 
     public void deleteRequestdMarker(Integer id) {
         markerMapper.deletePendingMarker(id);
     }
+
+    private static final class MarkersSnapshot {
+        final long version;
+        final List<Marker> markers;
+
+        MarkersSnapshot(long version, List<Marker> markers) {
+            this.version = version;
+            this.markers = markers;
+        }
+    }
 }
@@ -0,0 +1,334 @@
+package com.example.demo.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.example.demo.domain.MarkerPoint;
+
+/**
+ * 승인된 마커의 메모리 공간 인덱스.
+ *
+ * 위경도를 균일한 격자(cell)로 나누고, 셀마다 id/위도/경도를 primitive 배열로 보관한다.
+ * 지도 영역 조회와 반경 검색은 겹치는 셀만 훑으므로 DB 왕복 없이 처리된다.
+ * 셀 범위는 위도 [-90, 90], 경도 [-180, 180] 격자 안으로 잘라서 계산한다 (범위 밖 좌표로 순회가 끝나지 않는 일이 없도록).
+ */
+public class MarkerSpatialIndex {
+
+    // 기본 셀 크기: 0.01도 (위도 방향 약 1.1km)
+    public static final double DEFAULT_CELL_DEGREES = 0.01;
+
+    private final double cellDegrees;
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private final Map<Integer, MarkerPoint> entries = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    public MarkerSpatialIndex() {
+        this(DEFAULT_CELL_DEGREES);
+    }
+
+    public MarkerSpatialIndex(double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 전체 데이터를 새로 적재 (시작 시 warm-up)
+    public void load(List<MarkerPoint> markers) {
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            entries.clear();
+            for (MarkerPoint entry : markers) {
+                put(entry);
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void add(MarkerPoint marker) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(marker.getId());
+            put(marker);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public MarkerPoint get(int id) {
+        lock.readLock().lock();
+        try {
+            return entries.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 전체 마커 복사본 (순서 없음)
+    public List<MarkerPoint> snapshot() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(entries.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 영역 안의 마커를 id 오름차순으로 afterId 이후부터 최대 limit 개 반환
+    // 셀마다 id 순으로 정렬되어 있으므로 겹치는 셀들을 병합하며 limit 개를 채우면 멈춘다
+    public List<MarkerPoint> findInBounds(double minLat, double maxLat, double minLon, double maxLon,
+                                    Integer afterId, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        lock.readLock().lock();
+        try {
+            long minRow = rowIndex(minLat);
+            long maxRow = rowIndex(maxLat);
+            long minCol = colIndex(minLon);
+            long maxCol = colIndex(maxLon);
+
+            // 영역이 인덱스에 비해 너무 넓으면 셀 순회 대신 전체 순회
+            if (isWiderThanIndex(minRow, maxRow, minCol, maxCol)) {
+                return scanAll(minLat, maxLat, minLon, maxLon, afterId, limit);
+            }
+
+            PriorityQueue<CellCursor> heads = new PriorityQueue<>(Comparator.comparingInt(CellCursor::id));
+            for (long row = minRow; row <= maxRow; row++) {
+                for (long col = minCol; col <= maxCol; col++) {
+                    Cell cell = cells.get(cellKey(row, col));
+                    if (cell == null) {
+                        continue;
+                    }
+                    CellCursor cursor = new CellCursor(cell, cell.firstAfter(afterId));
+                    if (cursor.advance(minLat, maxLat, minLon, maxLon)) {
+                        heads.add(cursor);
+                    }
+                }
+            }
+
+            List<MarkerPoint> result = new ArrayList<>(Math.min(limit, 64));
+            while (result.size() < limit && !heads.isEmpty()) {
+                CellCursor cursor = heads.poll();
+                result.add(entries.get(cursor.id()));
+                cursor.position++;
+                if (cursor.advance(minLat, maxLat, minLon, maxLon)) {
+                    heads.add(cursor);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // id 가 가장 큰 것을 버리는 크기 limit 의 힙으로 상위 limit 개만 유지
+    private List<MarkerPoint> scanAll(double minLat, double maxLat, double minLon, double maxLon,
+                                      Integer afterId, int limit) {
+        PriorityQueue<MarkerPoint> smallest = new PriorityQueue<>(limit + 1,
+                Comparator.comparingInt(MarkerPoint::getId).reversed());
+        for (MarkerPoint entry : entries.values()) {
+            if (entry.getLatitude() >= minLat && entry.getLatitude() <= maxLat
+                    && entry.getLongitude() >= minLon && entry.getLongitude() <= maxLon
+                    && (afterId == null || entry.getId() > afterId)) {
+                smallest.add(entry);
+                if (smallest.size() > limit) {
+                    smallest.poll();
+                }
+            }
+        }
+        List<MarkerPoint> result = new ArrayList<>(smallest);
+        result.sort(Comparator.comparingInt(MarkerPoint::getId));
+        return result;
+    }
+
+    // 주어진 좌표에서 meters 이내에 마커가 하나라도 있는지 확인
+    public boolean existsWithin(double latitude, double longitude, double meters) {
+        double latRange = GeoUtils.metersToLatitudeDegrees(meters);
+        double lonRange = GeoUtils.metersToLongitudeDegrees(meters, latitude);
+
+        lock.readLock().lock();
+        try {
+            long minRow = rowIndex(latitude - latRange);
+            long maxRow = rowIndex(latitude + latRange);
+            long minCol = colIndex(longitude - lonRange);
+            long maxCol = colIndex(longitude + lonRange);
+
+            // 극지방처럼 경도 범위가 넓어지면 셀 순회 대신 전체 순회
+            if (isWiderThanIndex(minRow, maxRow, minCol, maxCol)) {
+                for (MarkerPoint entry : entries.values()) {
+                    if (GeoUtils.calculateDistance(latitude, longitude, entry.getLatitude(), entry.getLongitude()) < meters) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            for (long row = minRow; row <= maxRow; row++) {
+                for (long col = minCol; col <= maxCol; col++) {
+                    Cell cell = cells.get(cellKey(row, col));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < cell.size; i++) {
+                        if (GeoUtils.calculateDistance(latitude, longitude, cell.lats[i], cell.lons[i]) < meters) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(MarkerPoint entry) {
+        entries.put(entry.getId(), entry);
+        long key = cellKey(rowIndex(entry.getLatitude()), colIndex(entry.getLongitude()));
+        Cell cell = cells.get(key);
+        if (cell == null) {
+            cell = new Cell();
+            cells.put(key, cell);
+        }
+        cell.add(entry.getId(), entry.getLatitude(), entry.getLongitude());
+    }
+
+    private void removeEntry(int id) {
+        MarkerPoint old = entries.remove(id);
+        if (old == null) {
+            return;
+        }
+        long key = cellKey(rowIndex(old.getLatitude()), colIndex(old.getLongitude()));
+        Cell cell = cells.get(key);
+        if (cell != null && cell.remove(id) && cell.size == 0) {
+            cells.remove(key);
+        }
+    }
+
+    private long rowIndex(double latitude) {
+        return cellIndex(Math.max(-90, Math.min(90, latitude)));
+    }
+
+    private long colIndex(double longitude) {
+        return cellIndex(Math.max(-180, Math.min(180, longitude)));
+    }
+
+    private long cellIndex(double degrees) {
+        return (long) Math.floor(degrees / cellDegrees);
+    }
+
+    // 행/열 수는 격자 안으로 잘려 있어 곱해도 넘치지 않지만, 한쪽만으로 넘는 경우를 먼저 본다
+    private boolean isWiderThanIndex(long minRow, long maxRow, long minCol, long maxCol) {
+        long rows = maxRow - minRow + 1;
+        long cols = maxCol - minCol + 1;
+        return rows > cells.size() || cols > cells.size() || rows * cols > cells.size();
+    }
+
+    private static long cellKey(long row, long col) {
+        return (row << 32) | (col & 0xffffffffL);
+    }
+
+    // 한 셀 안에서 영역 안에 드는 다음 마커를 가리키는 위치
+    private static final class CellCursor {
+        private final Cell cell;
+        private int position;
+
+        CellCursor(Cell cell, int position) {
+            this.cell = cell;
+            this.position = position;
+        }
+
+        int id() {
+            return cell.ids[position];
+        }
+
+        boolean advance(double minLat, double maxLat, double minLon, double maxLon) {
+            while (position < cell.size) {
+                double lat = cell.lats[position];
+                double lon = cell.lons[position];
+                if (lat >= minLat && lat <= maxLat && lon >= minLon && lon <= maxLon) {
+                    return true;
+                }
+                position++;
+            }
+            return false;
+        }
+    }
+
+    // id 오름차순으로 유지되는 셀
+    private static final class Cell {
+        private int[] ids = new int[4];
+        private double[] lats = new double[4];
+        private double[] lons = new double[4];
+        private int size;
+
+        void add(int id, double lat, double lon) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                lats = Arrays.copyOf(lats, capacity);
+                lons = Arrays.copyOf(lons, capacity);
+            }
+            int i = -(Arrays.binarySearch(ids, 0, size, id) + 1);
+            System.arraycopy(ids, i, ids, i + 1, size - i);
+            System.arraycopy(lats, i, lats, i + 1, size - i);
+            System.arraycopy(lons, i, lons, i + 1, size - i);
+            ids[i] = id;
+            lats[i] = lat;
+            lons[i] = lon;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int i = Arrays.binarySearch(ids, 0, size, id);
+            if (i < 0) {
+                return false;
+            }
+            size--;
+            System.arraycopy(ids, i + 1, ids, i, size - i);
+            System.arraycopy(lats, i + 1, lats, i, size - i);
+            System.arraycopy(lons, i + 1, lons, i, size - i);
+            return true;
+        }
+
+        // afterId 보다 큰 첫 위치 (null 이면 0)
+        int firstAfter(Integer afterId) {
+            if (afterId == null) {
+                return 0;
+            }
+            int i = Arrays.binarySearch(ids, 0, size, afterId);
+            return i >= 0 ? i + 1 : -(i + 1);
+        }
+    }
+}
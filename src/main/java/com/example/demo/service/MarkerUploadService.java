@@ -0,0 +1,126 @@
+package com.example.demo.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
+import org.apache.commons.fileupload.FileUploadException;
+import org.apache.commons.fileupload.servlet.ServletFileUpload;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 마커 등록 요청의 스트리밍 업로드 처리 (multipart 본문을 버퍼링하지 않고 한 파트씩 읽는다).
+ *
+ * 텍스트 항목(title, latitude, longitude)이 이미지보다 먼저 와야 한다.
+ * 텍스트 항목을 다 읽으면 중복 검사 후 등록 요청을 만들고, 이어지는 이미지 파트는
+ * 앞부분의 형식/해상도만 확인한 뒤 원본 그대로 디스크에 흘려 쓴다 (이미지가 아닌 파트는 건너뛴다).
+ * 중간에 거절되면 그때까지 만든 등록 요청과 원본 파일을 지운다.
+ */
+@Service
+public class MarkerUploadService {
+
+    // 텍스트 항목 하나의 최대 크기
+    private static final int MAX_FIELD_BYTES = 4096;
+
+    private final MarkerService markerService;
+    private final ImageProcessingService imageProcessingService;
+    private final long maxFileBytes;
+    private final long maxRequestBytes;
+
+    public MarkerUploadService(MarkerService markerService, ImageProcessingService imageProcessingService,
+                               @Value("${spring.servlet.multipart.max-file-size:5MB}") DataSize maxFileSize,
+                               @Value("${spring.servlet.multipart.max-request-size:10MB}") DataSize maxRequestSize) {
+        this.markerService = markerService;
+        this.imageProcessingService = imageProcessingService;
+        this.maxFileBytes = maxFileSize.toBytes();
+        this.maxRequestBytes = maxRequestSize.toBytes();
+    }
+
+    // ✅ 등록 요청 id 반환. 용량 초과는 FileUploadBase.SizeException (또는 그것을 감싼 IOException)
+    public int upload(HttpServletRequest request) throws IOException, FileUploadException {
+        if (!ServletFileUpload.isMultipartContent(request)) {
+            throw new IllegalArgumentException("multipart/form-data 요청이 아닙니다.");
+        }
+        ServletFileUpload upload = new ServletFileUpload();
+        upload.setFileSizeMax(maxFileBytes);
+        upload.setSizeMax(maxRequestBytes);
+        upload.setHeaderEncoding(StandardCharsets.UTF_8.name());
+
+        Map<String, String> fields = new HashMap<>();
+        Integer pendingMarkerId = null;
+        int index = 0;
+        try {
+            FileItemIterator items = upload.getItemIterator(request);
+            while (items.hasNext()) {
+                FileItemStream item = items.next();
+                try (InputStream in = item.openStream()) {
+                    if (item.isFormField()) {
+                        if (pendingMarkerId != null) {
+                            throw new IllegalArgumentException("title, latitude, longitude 는 이미지보다 먼저 보내야 합니다.");
+                        }
+                        fields.put(item.getFieldName(), readField(in));
+                        continue;
+                    }
+                    // 파일을 고르지 않은 빈 파트, images 이외의 파일 파트는 건너뛴다
+                    if (!"images".equals(item.getFieldName()) || item.getName() == null || item.getName().trim().isEmpty()) {
+                        continue;
+                    }
+                    if (pendingMarkerId == null) {
+                        pendingMarkerId = createPendingMarker(fields);
+                    }
+                    // 이미지가 아닌 파일은 건너뛴다 (나머지 본문은 스트림을 닫으면서 버려짐)
+                    if (imageProcessingService.saveRawImage(pendingMarkerId, index, item.getName(), in)) {
+                        index++;
+                    }
+                }
+            }
+            if (pendingMarkerId == null) {
+                pendingMarkerId = createPendingMarker(fields);
+            }
+        } catch (IOException | FileUploadException | RuntimeException e) {
+            if (pendingMarkerId != null) {
+                markerService.cancelPendingMarker(pendingMarkerId);
+            }
+            throw e;
+        }
+
+        if (index > 0) {
+            imageProcessingService.submit(pendingMarkerId);
+        } else {
+            imageProcessingService.markReady(pendingMarkerId);
+        }
+        return pendingMarkerId;
+    }
+
+    private int createPendingMarker(Map<String, String> fields) {
+        String title = fields.get("title");
+        String latitude = fields.get("latitude");
+        String longitude = fields.get("longitude");
+        if (title == null || title.trim().isEmpty() || latitude == null || longitude == null) {
+            throw new IllegalArgumentException("title, latitude, longitude 는 필수입니다.");
+        }
+        return markerService.createPendingMarker(title, Double.parseDouble(latitude.trim()), Double.parseDouble(longitude.trim()));
+    }
+
+    private String readField(InputStream in) throws IOException {
+        ByteArrayOutputStream value = new ByteArrayOutputStream();
+        byte[] buffer = new byte[512];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            if (value.size() + read > MAX_FIELD_BYTES) {
+                throw new IllegalArgumentException("입력 값이 너무 깁니다.");
+            }
+            value.write(buffer, 0, read);
+        }
+        return new String(value.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
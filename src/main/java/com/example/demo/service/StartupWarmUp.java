@@ -0,0 +1,151 @@
+package com.example.demo.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.domain.MarkerPoint;
+import com.example.demo.mapper.CommentMapper;
+import com.example.demo.mapper.MarkerMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * 시작 직후, 트래픽을 받기 전에 커넥션 풀과 자주 쓰는 조회 경로를 미리 데운다.
+ *
+ * ApplicationRunner 가 모두 끝난 뒤에야 readiness 가 ACCEPTING_TRAFFIC 으로 바뀌므로
+ * (/actuator/health/readiness), 로드밸런서는 이 작업이 끝난 인스턴스에만 요청을 보낸다.
+ * - 풀마다 minimum-idle 개수만큼 커넥션을 동시에 열었다 반납 (첫 요청이 커넥션 생성을 기다리지 않도록)
+ * - 지도 조회 쿼리를 여러 번 실행 (PgJDBC 서버 측 prepare, MyBatis 결과 매핑, JIT)
+ * - 마커 목록/상세 캐시 적재, 응답 JSON 직렬화
+ * 실패해도 시작은 계속하고, warmup.max-duration-ms 를 넘기면 남은 단계는 건너뛴다.
+ */
+@Component
+public class StartupWarmUp implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmUp.class);
+
+    // 지도 영역 조회에 쓰는 화면 크기 (줌 14 정도)
+    private static final double BOX_LAT = 0.05;
+    private static final double BOX_LON = 0.07;
+
+    private final List<HikariDataSource> dataSources;
+    private final MarkerService markerService;
+    private final MarkerMapper markerMapper;
+    private final CommentMapper commentMapper;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int iterations;
+    private final long maxDurationMs;
+
+    public StartupWarmUp(List<HikariDataSource> dataSources, MarkerService markerService,
+                         MarkerMapper markerMapper, CommentMapper commentMapper, ObjectMapper objectMapper,
+                         @Value("${warmup.enabled:true}") boolean enabled,
+                         @Value("${warmup.iterations:20}") int iterations,
+                         @Value("${warmup.max-duration-ms:30000}") long maxDurationMs) {
+        this.dataSources = dataSources;
+        this.markerService = markerService;
+        this.markerMapper = markerMapper;
+        this.commentMapper = commentMapper;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.maxDurationMs = maxDurationMs;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long deadline = start + maxDurationMs;
+
+        for (HikariDataSource dataSource : dataSources) {
+            primePool(dataSource);
+        }
+
+        List<MarkerPoint> samples = new ArrayList<>();
+        try {
+            samples = samplePoints(markerService.getMarkerPoints());
+            objectMapper.writeValueAsBytes(markerService.getMarkers());
+        } catch (Exception e) {
+            log.warn("🚨 워밍업: 마커 목록 조회 실패", e);
+        }
+
+        int executed = 0;
+        for (int i = 0; i < iterations && System.currentTimeMillis() < deadline; i++) {
+            try {
+                exerciseHotQueries(samples, i);
+                executed++;
+            } catch (Exception e) {
+                log.warn("🚨 워밍업: 조회 실패 ({}회차)", i + 1, e);
+                break;
+            }
+        }
+        log.info("🔥 워밍업 완료: {}회, {}ms", executed, System.currentTimeMillis() - start);
+    }
+
+    // minimum-idle 개수만큼 동시에 빌려야 풀이 그만큼 커넥션을 실제로 연다
+    private void primePool(HikariDataSource dataSource) {
+        int size = Math.max(1, dataSource.getMinimumIdle());
+        List<Connection> connections = new ArrayList<>(size);
+        try {
+            for (int i = 0; i < size; i++) {
+                connections.add(dataSource.getConnection());
+            }
+        } catch (SQLException e) {
+            log.warn("🚨 워밍업: {} 커넥션 생성 실패 ({}개까지 성공)", dataSource.getPoolName(), connections.size(), e);
+        } finally {
+            for (Connection connection : connections) {
+                try {
+                    connection.close();
+                } catch (SQLException ignored) {
+                }
+            }
+        }
+        log.info("📦 워밍업: {} 커넥션 {}개 준비", dataSource.getPoolName(), connections.size());
+    }
+
+    private void exerciseHotQueries(List<MarkerPoint> samples, int iteration) throws Exception {
+        markerMapper.getMarkers();
+        markerMapper.getMarkerPoints();
+        if (samples.isEmpty()) {
+            return;
+        }
+        MarkerPoint center = samples.get(iteration % samples.size());
+        double lat = center.getLatitude();
+        double lon = center.getLongitude();
+
+        // 인덱스를 거치지 않는 DB 경로와 실제 요청 경로(인덱스/캐시)를 모두 실행
+        markerMapper.findMarkersInBounds(lat - BOX_LAT, lat + BOX_LAT, lon - BOX_LON, lon + BOX_LON, null, 201, true);
+        markerMapper.getMarkerById(center.getId());
+        commentMapper.getCommentsByMarkerId(center.getId(), 0, 20);
+        commentMapper.getCommentsByCursor(center.getId(), null, null, 20);
+
+        objectMapper.writeValueAsBytes(markerService.getMarkersInBounds(
+                lat - BOX_LAT, lat + BOX_LAT, lon - BOX_LON, lon + BOX_LON, 14, null, null));
+        objectMapper.writeValueAsBytes(markerService.getMarkerById(center.getId()));
+    }
+
+    // 전국에 고르게 퍼진 표본 (최대 iterations 개)
+    private List<MarkerPoint> samplePoints(List<MarkerPoint> points) {
+        List<MarkerPoint> samples = new ArrayList<>();
+        if (points.isEmpty()) {
+            return samples;
+        }
+        int step = Math.max(1, points.size() / Math.max(1, iterations));
+        for (int i = 0; i < points.size() && samples.size() < iterations; i += step) {
+            samples.add(points.get(i));
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,15 @@
+-- 운영 DB에 수동으로 적용하는 인덱스 모음 (CONCURRENTLY 는 트랜잭션 밖에서 실행)
+
+-- ✅ 지도 화면 영역 조회 (MarkerMapper.findMarkersInBounds)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_markers_approved_lat_lon
+    ON markers (latitude, longitude, id)
+    WHERE approved = TRUE;
+
+-- ✅ 등록 요청 시 500m 중복 검사 (MarkerMapper.existsMarkerNearby 의 pending_markers 쪽)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pending_markers_lat_lon
+    ON pending_markers (latitude, longitude)
+    WHERE approved = FALSE;
+
+-- ✅ 댓글 keyset 페이지네이션 (CommentMapper.getCommentsByCursor)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_marker_comments_marker_created_id
+    ON marker_comments (marker_id, created_at DESC, comment_id DESC);
@@ -0,0 +1,5 @@
+-- 운영 DB에 수동으로 적용: 등록 요청의 이미지 처리 상태
+-- 비동기 이미지 처리가 끝나기 전(processing = TRUE)에는 MarkerMapper.approvePendingMarkers 가 승인하지 않는다
+-- 기존 행은 처리가 끝난 것으로 본다 (DEFAULT FALSE)
+ALTER TABLE pending_markers
+    ADD COLUMN IF NOT EXISTS processing BOOLEAN NOT NULL DEFAULT FALSE;
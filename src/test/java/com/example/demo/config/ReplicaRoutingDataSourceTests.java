@@ -0,0 +1,72 @@
+package com.example.demo.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ReplicaRoutingDataSourceTests {
+
+	private final ReplicaRoutingDataSource dataSource = newDataSource(60_000);
+
+	@AfterEach
+	void clear() {
+		ReplicaRoutingDataSource.clearWrite();
+		ReplicaRoutingDataSource.clearReadStatement();
+	}
+
+	@Test
+	void readStatementGoesToReplicaOnlyWhenAvailable() {
+		assertEquals("primary", dataSource.determineCurrentLookupKey());
+		ReplicaRoutingDataSource.markReadStatement();
+		assertEquals("replica", dataSource.determineCurrentLookupKey());
+
+		dataSource.setReplicaAvailable(false);
+		assertEquals("primary", dataSource.determineCurrentLookupKey());
+	}
+
+	@Test
+	void writeKeepsOnlyTheWritingThreadOnPrimary() throws Exception {
+		ReplicaRoutingDataSource.markWrite();
+		ReplicaRoutingDataSource.markReadStatement();
+		assertEquals("primary", dataSource.determineCurrentLookupKey());
+
+		AtomicReference<Object> otherThread = new AtomicReference<>();
+		Thread reader = new Thread(() -> {
+			ReplicaRoutingDataSource.markReadStatement();
+			otherThread.set(dataSource.determineCurrentLookupKey());
+		});
+		reader.start();
+		reader.join();
+		assertEquals("replica", otherThread.get());
+
+		ReplicaRoutingDataSource.clearWrite();
+		assertEquals("replica", dataSource.determineCurrentLookupKey());
+	}
+
+	@Test
+	void writeMarkExpiresAfterMaxLag() throws Exception {
+		ReplicaRoutingDataSource shortLag = newDataSource(1);
+		ReplicaRoutingDataSource.markWrite();
+		ReplicaRoutingDataSource.markReadStatement();
+		Thread.sleep(5);
+		assertEquals("replica", shortLag.determineCurrentLookupKey());
+	}
+
+	@Test
+	void usePrimaryForcesPrimaryInsideTheBlockOnly() {
+		ReplicaRoutingDataSource.markReadStatement();
+		Object inside = ReplicaRoutingDataSource.usePrimary(() ->
+				ReplicaRoutingDataSource.usePrimary(dataSource::determineCurrentLookupKey));
+		assertEquals("primary", inside);
+		assertEquals("replica", dataSource.determineCurrentLookupKey());
+	}
+
+	private static ReplicaRoutingDataSource newDataSource(long maxLagMs) {
+		ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(null, null, maxLagMs);
+		dataSource.setReplicaAvailable(true);
+		return dataSource;
+	}
+}
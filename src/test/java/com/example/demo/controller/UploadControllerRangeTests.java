@@ -0,0 +1,44 @@
+package com.example.demo.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+class UploadControllerRangeTests {
+
+	@Test
+	void parsesSingleRanges() {
+		assertArrayEquals(new long[] { 0, 99 }, UploadController.parseRange("bytes=0-99", 1000));
+		assertArrayEquals(new long[] { 500, 999 }, UploadController.parseRange("bytes=500-", 1000));
+		assertArrayEquals(new long[] { 900, 999 }, UploadController.parseRange("bytes=-100", 1000));
+		// 끝이 파일보다 길면 파일 끝까지, 뒤에서 N 바이트가 파일보다 길면 전체
+		assertArrayEquals(new long[] { 10, 999 }, UploadController.parseRange("bytes=10-5000", 1000));
+		assertArrayEquals(new long[] { 0, 999 }, UploadController.parseRange("bytes=-5000", 1000));
+		assertArrayEquals(new long[] { 0, 0 }, UploadController.parseRange(" bytes=0-0 ", 1000));
+	}
+
+	@Test
+	void unsatisfiableRanges() {
+		assertSame(UploadController.UNSATISFIABLE, UploadController.parseRange("bytes=1000-", 1000));
+		assertSame(UploadController.UNSATISFIABLE, UploadController.parseRange("bytes=50-10", 1000));
+		assertSame(UploadController.UNSATISFIABLE, UploadController.parseRange("bytes=-0", 1000));
+		assertSame(UploadController.UNSATISFIABLE, UploadController.parseRange("bytes=-", 1000));
+		assertSame(UploadController.UNSATISFIABLE, UploadController.parseRange("bytes=0-", 0));
+	}
+
+	@Test
+	void oversizedNumbersAreUnsatisfiableInsteadOfServerError() {
+		assertSame(UploadController.UNSATISFIABLE, UploadController.parseRange("bytes=99999999999999999999-", 1000));
+		assertSame(UploadController.UNSATISFIABLE, UploadController.parseRange("bytes=0-99999999999999999999", 1000));
+		assertSame(UploadController.UNSATISFIABLE, UploadController.parseRange("bytes=-99999999999999999999", 1000));
+	}
+
+	@Test
+	void multipleOrMalformedRangesAreIgnored() {
+		assertNull(UploadController.parseRange("bytes=0-1,5-6", 1000));
+		assertNull(UploadController.parseRange("items=0-1", 1000));
+		assertNull(UploadController.parseRange("bytes=a-b", 1000));
+	}
+}
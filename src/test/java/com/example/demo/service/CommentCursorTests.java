@@ -0,0 +1,47 @@
+package com.example.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Timestamp;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.domain.Comment;
+
+class CommentCursorTests {
+
+	private static void assertRoundTrip(Timestamp createdAt, int commentId) {
+		String cursor = CommentService.encodeCursor(new Comment(commentId, "내용", createdAt));
+		Object[] position = CommentService.decodeCursor(cursor);
+		assertEquals(createdAt, position[0]);
+		assertEquals(commentId, position[1]);
+	}
+
+	@Test
+	void roundTripKeepsMicrosecondPrecisionAndId() {
+		Timestamp createdAt = Timestamp.valueOf("2024-05-01 12:34:56.123456");
+		assertRoundTrip(createdAt, 42);
+		assertRoundTrip(Timestamp.valueOf("2024-05-01 12:34:56.999999999"), Integer.MAX_VALUE);
+	}
+
+	@Test
+	void roundTripBeforeEpoch() {
+		// 음수 밀리초에서도 초/나노초가 어긋나지 않아야 한다
+		assertRoundTrip(Timestamp.valueOf("1969-12-31 23:59:59.5"), 1);
+	}
+
+	@Test
+	void cursorIsUrlSafe() {
+		String cursor = CommentService.encodeCursor(new Comment(7, "x", Timestamp.valueOf("2024-01-01 00:00:00.000001")));
+		assertFalse(cursor.contains("+") || cursor.contains("/") || cursor.contains("="));
+	}
+
+	@Test
+	void malformedCursorIsRejectedAsBadInput() {
+		assertThrows(IllegalArgumentException.class, () -> CommentService.decodeCursor("not base64!"));
+		assertThrows(IllegalArgumentException.class, () -> CommentService.decodeCursor("MTIz"));
+		assertThrows(IllegalArgumentException.class, () -> CommentService.decodeCursor("YTpiOmM"));
+	}
+}
@@ -0,0 +1,121 @@
+package com.example.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.example.demo.domain.Comment;
+import com.example.demo.mapper.CommentMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CommentWriteBufferTests {
+
+	// 삭제된 마커(999)의 댓글은 FK 위반, failuresLeft 가 남아 있으면 연결 오류
+	private static class FakeCommentMapper implements CommentMapper {
+		final List<String> saved = new ArrayList<>();
+		int failuresLeft;
+
+		@Override
+		public void insertComment(int markerId, String content) {
+			saved.add(content);
+		}
+
+		@Override
+		public void insertComments(List<Map<String, Object>> comments) {
+			if (failuresLeft > 0) {
+				failuresLeft--;
+				throw new DataAccessResourceFailureException("connection refused");
+			}
+			for (Map<String, Object> comment : comments) {
+				if ((Integer) comment.get("markerId") == 999) {
+					throw new DataIntegrityViolationException("fk_marker_comments_marker");
+				}
+			}
+			for (Map<String, Object> comment : comments) {
+				saved.add((String) comment.get("content"));
+			}
+		}
+
+		@Override
+		public List<Comment> getCommentsByMarkerId(int markerId, int offset, int limit) {
+			return new ArrayList<>();
+		}
+
+		@Override
+		public List<Comment> getCommentsByCursor(int markerId, Timestamp createdAt, Integer commentId, int limit) {
+			return new ArrayList<>();
+		}
+	}
+
+	private final FakeCommentMapper mapper = new FakeCommentMapper();
+	private CommentWriteBuffer buffer;
+
+	// 주기 flush 가 끼어들지 않도록 간격을 길게 두고 flush() 를 직접 호출
+	private CommentWriteBuffer buffer(int maxAttempts) {
+		buffer = new CommentWriteBuffer(mapper, new SimpleMeterRegistry(), 100, 60_000, 1000, maxAttempts);
+		return buffer;
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		if (buffer != null) {
+			buffer.drain();
+		}
+	}
+
+	@Test
+	void badRowIsIsolatedAndDoesNotBlockLaterComments() {
+		CommentWriteBuffer buffer = buffer(5);
+		buffer.offer(1, "a");
+		buffer.offer(999, "deleted marker");
+		buffer.offer(2, "b");
+		buffer.flush();
+		assertEquals(2, mapper.saved.size());
+
+		buffer.offer(3, "c");
+		buffer.flush();
+		assertEquals(3, mapper.saved.size());
+		assertEquals("c", mapper.saved.get(2));
+	}
+
+	@Test
+	void transientFailureIsRetriedInOrder() {
+		CommentWriteBuffer buffer = buffer(5);
+		mapper.failuresLeft = 2;
+		buffer.offer(1, "a");
+		buffer.offer(2, "b");
+		buffer.flush();
+		buffer.flush();
+		assertEquals(0, mapper.saved.size());
+
+		buffer.offer(3, "c");
+		buffer.flush();
+		assertEquals(3, mapper.saved.size());
+		assertEquals("a", mapper.saved.get(0));
+		assertEquals("c", mapper.saved.get(2));
+	}
+
+	@Test
+	void batchIsDroppedAfterMaxAttempts() {
+		CommentWriteBuffer buffer = buffer(3);
+		mapper.failuresLeft = 3;
+		buffer.offer(1, "lost");
+		buffer.flush();
+		buffer.flush();
+		buffer.flush();
+
+		buffer.offer(2, "kept");
+		buffer.flush();
+		assertEquals(1, mapper.saved.size());
+		assertEquals("kept", mapper.saved.get(0));
+	}
+}
@@ -0,0 +1,55 @@
+package com.example.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.file.Files;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+
+class ImageCodecTests {
+
+	@Test
+	void tallImageIsSubsampledByHeight() throws Exception {
+		File source = writePng(160, 2500);
+		try {
+			BufferedImage decoded = ImageCodec.readSubsampled(source, 80, Long.MAX_VALUE);
+			assertTrue(decoded.getWidth() < 80 * 4);
+			assertTrue(decoded.getHeight() < 80 * 4);
+		} finally {
+			Files.deleteIfExists(source.toPath());
+		}
+	}
+
+	@Test
+	void wideImageIsSubsampledByWidth() throws Exception {
+		File source = writePng(2500, 160);
+		try {
+			BufferedImage decoded = ImageCodec.readSubsampled(source, 80, Long.MAX_VALUE);
+			assertTrue(decoded.getWidth() < 80 * 4);
+			assertTrue(decoded.getWidth() >= 80 * 2);
+		} finally {
+			Files.deleteIfExists(source.toPath());
+		}
+	}
+
+	@Test
+	void imageOverPixelLimitIsRejected() throws Exception {
+		File source = writePng(100, 100);
+		try {
+			assertNull(ImageCodec.readSubsampled(source, 80, 100 * 100 - 1));
+		} finally {
+			Files.deleteIfExists(source.toPath());
+		}
+	}
+
+	private static File writePng(int width, int height) throws Exception {
+		File file = File.createTempFile("image-codec", ".png");
+		ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", file);
+		return file;
+	}
+}
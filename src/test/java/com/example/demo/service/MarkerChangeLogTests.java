@@ -0,0 +1,69 @@
+package com.example.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class MarkerChangeLogTests {
+
+	@Test
+	void versionOnlyGrows() {
+		MarkerChangeLog log = new MarkerChangeLog();
+		long previous = log.version();
+		for (int i = 0; i < 100; i++) {
+			long next = i % 2 == 0 ? log.added(i) : log.removed(i);
+			assertTrue(next > previous);
+			assertEquals(next, log.version());
+			previous = next;
+		}
+	}
+
+	@Test
+	void deltaKeepsLastStatePerMarker() {
+		MarkerChangeLog log = new MarkerChangeLog();
+		long since = log.version();
+		log.added(1);
+		log.added(2);
+		log.removed(1);
+		log.removed(3);
+		log.added(3);
+
+		MarkerChangeLog.Delta delta = log.since(since);
+		assertNotNull(delta);
+		assertEquals(log.version(), delta.getVersion());
+		Collections.sort(delta.getAdded());
+		assertEquals(Arrays.asList(2, 3), delta.getAdded());
+		assertEquals(Collections.singletonList(1), delta.getRemoved());
+
+		// 현재 버전 기준이면 빈 변경
+		MarkerChangeLog.Delta none = log.since(log.version());
+		assertTrue(none.getAdded().isEmpty() && none.getRemoved().isEmpty());
+	}
+
+	@Test
+	void unknownOrEvictedVersionNeedsFullReload() {
+		MarkerChangeLog log = new MarkerChangeLog(3);
+		long start = log.version();
+		long first = log.added(1);
+		log.added(2);
+		log.added(3);
+		log.added(4);
+
+		// 가장 오래된 변경이 밀려났으므로 start 이후 전체는 알 수 없다
+		assertNull(log.since(start));
+		assertEquals(Arrays.asList(2, 3, 4), sorted(log.since(first).getAdded()));
+		assertNull(log.since(log.version() + 1));
+	}
+
+	private static List<Integer> sorted(List<Integer> ids) {
+		Collections.sort(ids);
+		return ids;
+	}
+}
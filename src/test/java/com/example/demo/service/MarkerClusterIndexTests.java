@@ -0,0 +1,86 @@
+package com.example.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import com.example.demo.domain.MarkerPoint;
+
+class MarkerClusterIndexTests {
+
+	private static int total(List<MarkerClusterIndex.ClusterView> clusters) {
+		int count = 0;
+		for (MarkerClusterIndex.ClusterView cluster : clusters) {
+			count += cluster.getCount();
+		}
+		return count;
+	}
+
+	@Test
+	void nearbyMarkersMergeAtLowZoomAndSplitAtHighZoom() {
+		MarkerClusterIndex index = new MarkerClusterIndex();
+		// 서울 시청 주변 약 1km 간격
+		index.load(Arrays.asList(
+				new MarkerPoint(1, 37.5665, 126.9780, null),
+				new MarkerPoint(2, 37.5755, 126.9780, null),
+				new MarkerPoint(3, 37.5665, 126.9893, null)));
+
+		List<MarkerClusterIndex.ClusterView> low = index.findClusters(8, 37, 38, 126.5, 127.5);
+		assertEquals(1, low.size());
+		assertEquals(3, low.get(0).getCount());
+		assertNull(low.get(0).getMarkerId());
+
+		List<MarkerClusterIndex.ClusterView> high = index.findClusters(16, 37.5, 37.6, 126.9, 127.0);
+		assertEquals(3, high.size());
+		for (MarkerClusterIndex.ClusterView cluster : high) {
+			assertEquals(1, cluster.getCount());
+			assertTrue(cluster.getMarkerId() != null);
+		}
+	}
+
+	@Test
+	void everyMarkerIsCountedOnceAtEveryZoom() {
+		MarkerClusterIndex index = new MarkerClusterIndex();
+		index.load(Arrays.asList(
+				new MarkerPoint(1, 33.4996, 126.5312, null),
+				new MarkerPoint(2, 35.1796, 129.0756, null),
+				new MarkerPoint(3, 37.5665, 126.9780, null),
+				new MarkerPoint(4, 37.4563, 126.7052, null),
+				new MarkerPoint(5, -33.8688, 151.2093, null)));
+
+		for (int zoom = MarkerClusterIndex.MIN_ZOOM; zoom <= MarkerClusterIndex.MAX_ZOOM; zoom++) {
+			assertEquals(4, total(index.findClusters(zoom, 33, 38.5, 124, 132)), "zoom " + zoom);
+			assertEquals(5, total(index.findClusters(zoom, -85, 85, -180, 180)), "zoom " + zoom);
+		}
+	}
+
+	@Test
+	void removeShrinksCluster() {
+		MarkerClusterIndex index = new MarkerClusterIndex();
+		index.load(Arrays.asList(
+				new MarkerPoint(1, 37.5665, 126.9780, null),
+				new MarkerPoint(2, 37.5670, 126.9785, null)));
+		index.remove(1, 37.5665, 126.9780);
+
+		List<MarkerClusterIndex.ClusterView> clusters = index.findClusters(10, 37, 38, 126.5, 127.5);
+		assertEquals(1, clusters.size());
+		assertEquals(Integer.valueOf(2), clusters.get(0).getMarkerId());
+		assertEquals(37.5670, clusters.get(0).getLatitude(), 1e-9);
+	}
+
+	@Test
+	@Timeout(5)
+	void outOfRangeBoundsStayInsideTheWorldGrid() {
+		MarkerClusterIndex index = new MarkerClusterIndex();
+		index.load(Arrays.asList(new MarkerPoint(1, 37.5665, 126.9780, "시청"), new MarkerPoint(2, 37.4, 127.1, "성남")));
+
+		assertEquals(2, total(index.findClusters(10, 37, 38, -1e300, 1e300)));
+		assertEquals(2, total(index.findClusters(16, -1e300, 1e300, -1e300, 1e300)));
+	}
+}
@@ -0,0 +1,115 @@
+package com.example.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.domain.MarkerPoint;
+
+class MarkerPointEncoderTests {
+
+	// 클라이언트가 구현하는 것과 같은 방식으로 읽는 기준 디코더
+	private static List<MarkerPoint> decode(byte[] frame) {
+		ByteBuffer in = ByteBuffer.wrap(frame);
+		assertEquals('M', in.get());
+		assertEquals('K', in.get());
+		assertEquals('P', in.get());
+		assertEquals(MarkerPointEncoder.VERSION, in.get());
+		assertEquals(frame.length - 8, in.getInt());
+
+		int count = (int) readVarint(in);
+		List<MarkerPoint> markers = new ArrayList<>(count);
+		long id = 0;
+		long lat = 0;
+		long lon = 0;
+		for (int i = 0; i < count; i++) {
+			id += unzigzag(readVarint(in));
+			lat += unzigzag(readVarint(in));
+			lon += unzigzag(readVarint(in));
+			int titleLength = (int) readVarint(in);
+			String title = null;
+			if (titleLength > 0) {
+				byte[] bytes = new byte[titleLength];
+				in.get(bytes);
+				title = new String(bytes, StandardCharsets.UTF_8);
+			}
+			markers.add(new MarkerPoint((int) id, lat / 1e6, lon / 1e6, title));
+		}
+		assertEquals(0, in.remaining());
+		return markers;
+	}
+
+	private static long readVarint(ByteBuffer in) {
+		long value = 0;
+		int shift = 0;
+		byte b;
+		do {
+			b = in.get();
+			value |= (long) (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return value;
+	}
+
+	private static long unzigzag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	@Test
+	void encodesKnownBytes() {
+		// id 1, (0.000001, -0.000001), 이름 "a" → Δ 는 zigzag 로 2, 2, 1
+		byte[] frame = MarkerPointEncoder.encode(Collections.singletonList(new MarkerPoint(1, 0.000001, -0.000001, "a")));
+		assertArrayEquals(new byte[] { 'M', 'K', 'P', 1, 0, 0, 0, 6, 1, 2, 2, 1, 1, 'a' }, frame);
+	}
+
+	@Test
+	void emptyList() {
+		assertArrayEquals(new byte[] { 'M', 'K', 'P', 1, 0, 0, 0, 1, 0 }, MarkerPointEncoder.encode(Collections.<MarkerPoint>emptyList()));
+	}
+
+	@Test
+	void roundTripSortsByLatitudeAndKeepsMicrodegrees() {
+		Random random = new Random(7);
+		List<MarkerPoint> markers = new ArrayList<>();
+		for (int i = 0; i < 5000; i++) {
+			double lat = Math.round((-90 + random.nextDouble() * 180) * 1e6) / 1e6;
+			double lon = Math.round((-180 + random.nextDouble() * 360) * 1e6) / 1e6;
+			int id = random.nextInt(Integer.MAX_VALUE);
+			markers.add(new MarkerPoint(id, lat, lon, i % 3 == 0 ? null : "코트 " + i));
+		}
+		markers.add(new MarkerPoint(Integer.MAX_VALUE, 90, 180, "끝"));
+		markers.add(new MarkerPoint(0, -90, -180, "시작"));
+
+		List<MarkerPoint> decoded = decode(MarkerPointEncoder.encode(markers));
+
+		List<MarkerPoint> expected = new ArrayList<>(markers);
+		expected.sort(Comparator.comparingDouble(MarkerPoint::getLatitude).thenComparingInt(MarkerPoint::getId));
+		assertEquals(expected.size(), decoded.size());
+		for (int i = 0; i < expected.size(); i++) {
+			MarkerPoint e = expected.get(i);
+			MarkerPoint d = decoded.get(i);
+			assertEquals(e.getId(), d.getId());
+			assertEquals(e.getLatitude(), d.getLatitude(), 1e-9);
+			assertEquals(e.getLongitude(), d.getLongitude(), 1e-9);
+			assertEquals(e.getTitle(), d.getTitle());
+		}
+	}
+
+	@Test
+	void coordinatesAreRoundedToMicrodegrees() {
+		List<MarkerPoint> decoded = decode(MarkerPointEncoder.encode(Arrays.asList(
+				new MarkerPoint(10, 37.56650049, 126.97800051, null))));
+		assertEquals(37.5665, decoded.get(0).getLatitude(), 1e-9);
+		assertEquals(126.978001, decoded.get(0).getLongitude(), 1e-9);
+	}
+}
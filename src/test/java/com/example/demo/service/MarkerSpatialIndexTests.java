@@ -0,0 +1,118 @@
+package com.example.demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import com.example.demo.domain.MarkerPoint;
+
+class MarkerSpatialIndexTests {
+
+	@Test
+	void findInBoundsReturnsIdOrderedPageAcrossCells() {
+		MarkerSpatialIndex index = new MarkerSpatialIndex();
+		List<MarkerPoint> points = new ArrayList<>();
+		Random random = new Random(42);
+		for (int id = 1; id <= 2000; id++) {
+			points.add(new MarkerPoint(id, 37.5 + random.nextDouble() * 0.2, 127.0 + random.nextDouble() * 0.2, "m" + id));
+		}
+		index.load(points);
+
+		double minLat = 37.53, maxLat = 37.61, minLon = 127.02, maxLon = 127.13;
+		List<Integer> expected = new ArrayList<>();
+		for (MarkerPoint p : points) {
+			if (p.getLatitude() >= minLat && p.getLatitude() <= maxLat
+					&& p.getLongitude() >= minLon && p.getLongitude() <= maxLon) {
+				expected.add(p.getId());
+			}
+		}
+
+		// 커서로 끝까지 넘기면 영역 안의 마커를 id 순으로 빠짐없이 한 번씩 받는다
+		List<Integer> actual = new ArrayList<>();
+		Integer cursor = null;
+		while (true) {
+			List<MarkerPoint> page = index.findInBounds(minLat, maxLat, minLon, maxLon, cursor, 37);
+			for (MarkerPoint p : page) {
+				actual.add(p.getId());
+			}
+			if (page.size() < 37) {
+				break;
+			}
+			cursor = page.get(page.size() - 1).getId();
+		}
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	void wideViewportFallsBackToFullScanWithSameOrder() {
+		MarkerSpatialIndex index = new MarkerSpatialIndex();
+		List<MarkerPoint> points = new ArrayList<>();
+		for (int id = 50; id >= 1; id--) {
+			points.add(new MarkerPoint(id, 33 + id * 0.1, 126 + id * 0.05, null));
+		}
+		index.load(points);
+
+		List<MarkerPoint> page = index.findInBounds(30, 40, 120, 130, 10, 5);
+		assertEquals(5, page.size());
+		for (int i = 0; i < page.size(); i++) {
+			assertEquals(11 + i, page.get(i).getId());
+		}
+	}
+
+	@Test
+	void addMoveAndRemoveKeepCellsConsistent() {
+		MarkerSpatialIndex index = new MarkerSpatialIndex();
+		index.load(new ArrayList<>());
+		index.add(new MarkerPoint(3, 37.5001, 127.0001, "a"));
+		index.add(new MarkerPoint(1, 37.5002, 127.0002, "b"));
+		index.add(new MarkerPoint(2, 37.5003, 127.0003, "c"));
+
+		List<MarkerPoint> page = index.findInBounds(37.5, 37.501, 127.0, 127.001, null, 10);
+		assertEquals(3, page.size());
+		assertEquals(1, page.get(0).getId());
+		assertEquals(2, page.get(1).getId());
+		assertEquals(3, page.get(2).getId());
+
+		// 같은 id 를 다른 셀로 옮기면 이전 셀에서 빠진다
+		index.add(new MarkerPoint(2, 35.1, 129.0, "c"));
+		index.remove(1);
+		page = index.findInBounds(37.5, 37.501, 127.0, 127.001, null, 10);
+		assertEquals(1, page.size());
+		assertEquals(3, page.get(0).getId());
+		assertEquals(2, index.size());
+	}
+
+	@Test
+	void existsWithinUsesMeters() {
+		MarkerSpatialIndex index = new MarkerSpatialIndex();
+		List<MarkerPoint> points = new ArrayList<>();
+		points.add(new MarkerPoint(1, 37.5665, 126.9780, "시청"));
+		index.load(points);
+
+		// 위도 0.004도 ≈ 445m
+		assertTrue(index.existsWithin(37.5705, 126.9780, 500));
+		assertFalse(index.existsWithin(37.5765, 126.9780, 500));
+	}
+
+	@Test
+	@Timeout(5)
+	void outOfRangeCoordinatesStayInsideTheGrid() {
+		MarkerSpatialIndex index = new MarkerSpatialIndex();
+		List<MarkerPoint> points = new ArrayList<>();
+		points.add(new MarkerPoint(1, 37.5665, 126.9780, "시청"));
+		points.add(new MarkerPoint(2, 89.999, 10, "북극"));
+		index.load(points);
+
+		assertFalse(index.existsWithin(1e300, 126.9780, 500));
+		assertTrue(index.existsWithin(89.9995, -170, 500));
+		assertEquals(2, index.findInBounds(-1e300, 1e300, -1e300, 1e300, null, 10).size());
+		assertEquals(0, index.findInBounds(Double.NaN, Double.NaN, Double.NaN, Double.NaN, null, 10).size());
+	}
+}